@@ -0,0 +1,99 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* AdmissionControl stands in front of the booking path of ONE airplane. When a popular flight opens, far more requests come in than there are
+ * seats. Without a limit they would all queue up in the BookingService, every one of them would wait its turn and most would fail anyway. Instead,
+ * a request is turned away straight away (it costs a few atomic operations) when:
+ *
+ * 1. The flight gets more requests than its token bucket allows. The bucket fills with 'rate' tokens per second and holds at most 'burst' tokens,
+ *    and every request takes one. It is kept as a single AtomicLong, the time at which the bucket will be full again (the "generic cell rate
+ *    algorithm", which behaves exactly like a token bucket). Taking a token is one compareAndSet, with no lock and no thread to refill the bucket.
+ *    Such a request is told to try again (BookingResult.retry).
+ * 2. Too many requests of the flight are already waiting to be processed (more than maxPending). Also told to try again.
+ * 3. The seats asked for by the requests already waiting, plus this one, are more than the seats still free. Most of the waiting requests
+ *    will succeed, so this one would almost surely fail, and it fails fast instead of waiting to find that out. If there aren't even enough free
+ *    seats for this request alone, it is told the flight is sold out. Otherwise it is told to try again, as some of the waiting requests
+ *    may still fail (and a request that has just booked its seat is counted both as taken and as waiting until it calls done).
+ *
+ * Every request that was admitted must call done when it has finished, so its seats stop counting as waiting.
+ */
+class AdmissionControl {
+    static final int DEFAULT_RATE = 5000;
+    static final int DEFAULT_BURST = 1000;
+    static final int DEFAULT_MAX_PENDING = 10000;
+
+    private final Airplane airplane;
+    private final AtomicLong fullAt = new AtomicLong(System.nanoTime());
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+    private final AtomicInteger pendingSeats = new AtomicInteger();
+    private volatile long intervalNanos;
+    private volatile long burstNanos;
+    private volatile int maxPending;
+
+    AdmissionControl(Airplane airplane) {
+        this.airplane = airplane;
+        configure(DEFAULT_RATE, DEFAULT_BURST, DEFAULT_MAX_PENDING);
+    }
+
+    /* configure changes the limits of the flight. rate is in requests per second. */
+    void configure(int rate, int burst, int maxPending) {
+        if (rate <= 0 || burst <= 0 || maxPending <= 0) {
+            throw new IllegalArgumentException("The limits of a flight must be positive.");
+        }
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        this.intervalNanos = interval;
+        this.burstNanos = interval * (burst - 1);
+        this.maxPending = maxPending;
+    }
+
+    /* admit returns null if the request for 'seats' seats may go on. Otherwise it returns the unsuccessful BookingResult to give the caller. */
+    BookingResult admit(int seats) {
+        if (!takeToken()) {
+            return (refuse("Too many requests for " + airplane.name + ", try again.", true));
+        }
+        if (pendingRequests.incrementAndGet() > maxPending) {
+            pendingRequests.decrementAndGet();
+            return (refuse("Too many requests for " + airplane.name + ", try again.", true));
+        }
+        int demand = pendingSeats.addAndGet(seats);
+        int free = airplane.countFree();
+        if (free <= 0 || (seats > 0 && demand > free)) {
+            done(seats);
+            if (free < seats) {
+                return (refuse(airplane.name + " is sold out.", false));
+            }
+            return (refuse("Too many requests for the seats left on " + airplane.name + ", try again.", true));
+        }
+        return (null);
+    }
+
+    void done(int seats) {
+        pendingRequests.decrementAndGet();
+        pendingSeats.addAndGet(-seats);
+    }
+
+    int pending() {
+        return (pendingRequests.get());
+    }
+
+    private boolean takeToken() {
+        while (true) {
+            long now = System.nanoTime();
+            long full = fullAt.get();
+            long start = (full - now > 0) ? full : now;
+            if (start - now > burstNanos) {
+                return (false);
+            }
+            if (fullAt.compareAndSet(full, start + intervalNanos)) {
+                return (true);
+            }
+        }
+    }
+
+    private static BookingResult refuse(String message, boolean retry) {
+        BookingResult result = new BookingResult(false, new Seat[0], 0, message);
+        result.retry = retry;
+        return (result);
+    }
+}
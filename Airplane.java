@@ -0,0 +1,223 @@
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* Airplane class represents an Airplane.
+ * (long) id is a number given to every airplane when it is made, one higher than the airplane before. Names can change case or repeat, the id
+ * can't. It gives all the airplanes a single order, which ItineraryLocks uses to lock several airplanes without deadlocking.
+ * (String) It has 'name', 'type', 'origin', 'destination' attributes that are self explanatory. It contains the name of the airplane, type (Domestic/International), from location and the to location respectively
+ * (Calendar) arrival and departure are objects that will be used to record the arrival time and departure time of airplanes respectively. 
+ * (Instant) arrivesAt and departsAt are the same two times as java.time Instants, the full date and time as one point on the time line. They are set once
+ * in the constructor and never change, so the indexes (see RouteIndex) can compare them without reading the Calendars, which are not thread safe.
+ * 
+ * (PricingEngine) pricing keeps the price of each seat in the airplane. seatPrice() returns the current price. It used to be a
+ * DoubleProperty so that JavaFX Labels could be binded to it, but the airplane is part of the booking core now and doesn't know about JavaFX. Whenever
+ * the price changes, FlightEvents.priceChanged tells the listeners and the GUI updates its own DoubleProperty (see FlightView in Demo.java).
+ * The same goes for the number of booked seats, the GUI keeps an IntegerProperty for it that is updated on every FlightEvents.seatBooked.
+ * 
+ * (Seat[]) seats is an array of seats (Seat object) in the airplane. 
+ * 
+ * (SeatInventory) inventory is the atomic bitmap that decides which seats are taken. Seat.book claims seats through it and HoldManager holds seats through it.
+ * 
+ * (SeatLayout) layout is how the seats are laid out in rows, aisles and cabins. SeatFinder uses it to pick seats that are together.
+ * By default it is rows of 5 seats in one cabin, like the seat map of the GUI. It can be replaced with setLayout.
+ * 
+ * (AdmissionControl) admission decides which booking requests of the airplane are let in during a booking storm.
+ * 
+ * (Waitlist) waitlist has the travellers waiting for seats when the airplane is full. They get seats as soon as seats come back.
+ * 
+ * (BookingSequencer) sequencer is null normally. For a flash sale, startSequencer gives the airplane its own writer thread and every single-seat booking
+ * of the airplane is then done by that thread, one after the other (see BookingSequencer). stopSequencer goes back to the normal BookingService pool.
+ * 
+ * details and rendering keep the string representation of the airplane so that toString() doesn't build it again for every row of a ListView.
+ * 
+ * (boolean) departed represents if an airplane is departed or not. If departed, it is set true and if not departed, it will be set to false. Why is it not made to a BooleanProperty?
+ * We didn't make it into a BooleanProperty because we don't need to. We don't have any JavaFX element binded to it as opposed to the other cases.
+ * It is volatile because it is set by the thread that departs the airplane and read by the BookingService threads, which refuse to cancel a seat
+ * of an airplane that has departed (see Seat.cancel).
+ */
+class Airplane {
+    private static final AtomicLong ids = new AtomicLong();
+    final long id = ids.incrementAndGet();
+    String name;
+    String type;
+    String origin, destination;
+    Calendar arrival;
+    Calendar departure;
+    final Instant arrivesAt;
+    final Instant departsAt;
+    PricingEngine pricing;
+    volatile BookingSequencer sequencer;
+    final Waitlist waitlist = new Waitlist(this);
+    final AdmissionControl admission = new AdmissionControl(this);
+    Seat[] seats;
+    SeatInventory inventory;
+    volatile SeatLayout layout;
+    volatile boolean departed;
+    private volatile String details;
+    private volatile Rendering rendering;
+
+    /* A Rendering is the string of the airplane for one details string and one number of booked seats. */
+    private static final class Rendering {
+        final String details;
+        final int bookedSeats;
+        final String text;
+
+        Rendering(String details, int bookedSeats, String text) {
+            this.details = details;
+            this.bookedSeats = bookedSeats;
+            this.text = text;
+        }
+    }
+
+    /*
+     * This is an Airplane constructor that helps construct Airplane objects using parameters name, type, seat_capacity (size of seats array), seatPrice, origin, destination
+     * arrival_hour, arrival_minute, arrival_day, arrival_month, arrival_year which will be used to set the arrival Calendar object
+     * departure_hour, departure_minute, departure_day, departure_month, departure_year which will be used to set the departure Calendar object
+     * 
+     * Once we set all of these to their respective attribute, we will then make the seat array and assign it to seats. We will update each seat in the array with the seat number.
+     * This is done using updateSeatNo, we will give its seat number as its index in the array.
+     * We will update the airplane name of the seat with the name of the airplane object it is present in.
+     * 
+     * We will also be making the PricingEngine of the airplane, starting from the seatPrice that was passed.
+     */
+    Airplane(String name, String type, int seat_capacity, double seatPrice, String origin, String destination,
+            int arrival_minute, int arrival_hour, int arrival_day, int arrival_month, int arrival_year,
+            int departure_minute, int departure_hour, int departure_day, int departure_month, int departure_year) {
+        this.departed = false;
+        this.type = type;
+        this.name = name;
+        this.origin = origin;
+        this.destination = destination;
+        arrival = new GregorianCalendar(arrival_year, arrival_month - 1, arrival_day);
+        arrival.set(Calendar.HOUR_OF_DAY, arrival_hour);
+        arrival.set(Calendar.MINUTE, arrival_minute);
+        departure = new GregorianCalendar(departure_year, departure_month - 1, departure_day);
+        departure.set(Calendar.HOUR_OF_DAY, departure_hour);
+        departure.set(Calendar.MINUTE, departure_minute);
+        this.arrivesAt = arrival.toInstant();
+        this.departsAt = departure.toInstant();
+        this.seats = new Seat[seat_capacity];
+        this.inventory = new SeatInventory(seat_capacity);
+        this.layout = SeatLayout.single(seat_capacity);
+        for (int i = 0; i < seats.length; i++) {
+            seats[i] = new Seat(seatPrice);
+            seats[i].updateSeatNo(i);
+            seats[i].updateAirlinesName(name);
+            seats[i].updateAirplane(this);
+        }
+        this.pricing = new PricingEngine(this, seatPrice, departure.getTimeInMillis());
+        this.details = describe();
+    }
+
+    /* This is a function that will count the number of booked seats in the airplane at any moment. It asks the SeatInventory, which keeps the number
+    up to date on every booking, hold and cancel, so it doesn't have to look at the seats. countHeld and countFree are the same for held and free seats.
+    */
+
+    int countBooked() {
+        return (inventory.countBooked());
+    }
+
+    int countHeld() {
+        return (inventory.countHeld());
+    }
+
+    int countFree() {
+        return (inventory.countFree());
+    }
+
+    /* loadFactor is the part of the airplane that is sold, from 0.0 (empty) to 1.0 (every seat booked). */
+    double loadFactor() {
+        return ((double) inventory.countBooked() / seats.length);
+    }
+
+    /* isFull is true when no seat can be booked anymore. Held seats are counted too, they are not sold but nobody else can book them either. */
+    boolean isFull() {
+        return (inventory.countFree() == 0);
+    }
+
+    /* seatPrice is the price a seat would be sold at right now. Seats are priced by the PricingEngine when they are sold (see PricingEngine.sell). */
+    double seatPrice() {
+        return (pricing.quote().price);
+    }
+
+    void setLayout(SeatLayout layout) {
+        if (layout.capacity != seats.length) {
+            throw new IllegalArgumentException("The layout has " + layout.capacity + " seats but " + name + " has " + seats.length + ".");
+        }
+        this.layout = layout;
+    }
+
+    /* startSequencer and stopSequencer are synchronized so that two managers can't give the airplane two writers at the same time. */
+    synchronized void startSequencer(int ringSize) {
+        if (sequencer == null) {
+            sequencer = new BookingSequencer(name, ringSize, admission);
+        }
+    }
+
+    synchronized void stopSequencer() {
+        if (sequencer != null) {
+            sequencer.stop();
+            sequencer = null;
+        }
+    }
+
+    /* VERY IMPORTANT
+     * Every object has a string representation. Everytime .toString() is called on an object, we get the representation in the
+     * form Class_Name@HashCode. It is unreadable and doesn't give us much information. Thus we will be 
+     * overriding the toString() method of the object. This is a method of the Object class which is the ancestor
+     * of every class.
+     * 
+     * Here, we make the toString() method return a string that gives us all the information of an airplane. The name, 
+     * arrival time, departure time, from, to, number of booked seats are given in the string produced in the toString()
+     * method. We will use this string representation of the object whenever we want all the readable details of the object.
+     */
+
+    /* The ListViews of the schedule and the report call toString() every time a row is drawn, so it is NOT built again every time.
+     * Only the number of booked seats changes once the airplane is made, so everything before it (details) is built ONCE, in the constructor, by describe.
+     * The whole string is then kept in rendering together with the number of booked seats it was made for. toString() returns it as long as the
+     * number of booked seats is still the same and only builds a new one after a seat was booked or given back.
+     * rendering is volatile and is replaced as a whole, so a thread always sees a text that belongs to its number.
+     * If the name, origin, destination, arrival or departure of the airplane is ever changed, details must be built again with refreshDetails.
+     * A rendering made from the old details is then never used again, because it is checked against the details too.
+     */
+    public String toString() {
+        int bookedSeats = countBooked();
+        String currentDetails = details;
+        Rendering current = rendering;
+        if (current == null || current.bookedSeats != bookedSeats || current.details != currentDetails) {
+            String text = new StringBuilder(currentDetails.length() + 24).append(currentDetails).append(bookedSeats).append('/')
+                    .append(seats.length).toString();
+            current = new Rendering(currentDetails, bookedSeats, text);
+            rendering = current;
+        }
+        return (current.text);
+    }
+
+    synchronized void refreshDetails() {
+        details = describe();
+    }
+
+    /* describe builds the part of the string that doesn't change with the bookings. It appends the numbers into one StringBuilder instead of
+     * adding up a new String for every piece.
+     */
+    private String describe() {
+        StringBuilder text = new StringBuilder(128);
+        text.append(name).append(" | ARRIVAL TIME: ");
+        appendTime(text, arrival);
+        text.append(" | DEPARTURE TIME: ");
+        appendTime(text, departure);
+        text.append(" | FROM: ").append(origin).append(" | TO: ").append(destination).append(" | BOOKED SEATS: ");
+        return (text.toString());
+    }
+
+    // time.get(Calendar.MONTH) always returns a month from the range 0-11. You must add 1 to it if you want
+    // to make the month number understandable to the user. Eg - 0 in GregorianCalendar means January.
+    // This however does not apply for the others like Calendar.DAY_OF_MONTH, Calendar.YEAR, etc.
+    static void appendTime(StringBuilder text, Calendar time) {
+        text.append(time.get(Calendar.HOUR_OF_DAY)).append(':').append(time.get(Calendar.MINUTE)).append(' ')
+                .append(time.get(Calendar.DAY_OF_MONTH)).append('/').append(time.get(Calendar.MONTH) + 1).append('/')
+                .append(time.get(Calendar.YEAR));
+    }
+}
@@ -0,0 +1,158 @@
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/* AvailabilityIndex answers "which flights from Delhi to Bangalore between these days still have 4 free seats?" without opening every airplane.
+ *
+ * The airplanes are kept by route (origin and destination, in lowercase like the RouteIndex) and then by the day they depart on. The airplanes of one
+ * route and day are a NavigableSet of Slots ordered by their number of free seats, the most free seats first. So for every day of the range the
+ * query reads the Slots from the start and stops at the first one with fewer free seats than asked for. It never looks at an airplane that is too
+ * full, and never at a Seat: the number of free seats is the counter of the SeatInventory (Airplane.countFree), which is O(1).
+ * A query over d days with k results is O(d log n + k).
+ *
+ * The number of free seats of an airplane changes with every booking, hold and cancel. AvailabilityIndex is a FlightListener, so it hears about each
+ * of them and sorts the airplane again in its day, O(log n). Like FlightOrder, the Slot of every airplane is remembered in 'current' and changed inside
+ * current.compute, so two threads booking on the same airplane can't leave two Slots behind and a removed airplane is never put back.
+ * Manager adds every airplane when it is added to the schedule and removes it when it is deleted or departs, like the routeIndex.
+ */
+class AvailabilityIndex implements FlightListener {
+    /* A Slot is an airplane with the number of free seats it was sorted by. It also keeps the route (in lowercase) and day the airplane is kept under,
+     * so moving the Slot after a booking doesn't have to work them out again. The departure time comes from departsAt, the Instant that is set once
+     * when the airplane is made. The departure Calendar is not safe to read from the BookingService threads that move the Slots.
+     */
+    static class Slot {
+        final int free;
+        final long departs;
+        final long id;
+        final String origin, destination;
+        final LocalDate day;
+        final Airplane airplane;
+
+        Slot(Airplane airplane, String origin, String destination, int free) {
+            this.free = free;
+            this.departs = airplane.departsAt.toEpochMilli();
+            this.id = airplane.id;
+            this.origin = origin;
+            this.destination = destination;
+            this.day = airplane.departsAt.atZone(ZoneId.systemDefault()).toLocalDate();
+            this.airplane = airplane;
+        }
+
+        /* This copies everything but the number of free seats from the old Slot. */
+        private Slot(Slot old, int free) {
+            this.free = free;
+            this.departs = old.departs;
+            this.id = old.id;
+            this.origin = old.origin;
+            this.destination = old.destination;
+            this.day = old.day;
+            this.airplane = old.airplane;
+        }
+
+        /* moved is the same airplane in the same place with a new number of free seats. */
+        Slot moved(int free) {
+            return (new Slot(this, free));
+        }
+    }
+
+    private static final Comparator<Slot> MOST_FREE = Comparator.<Slot>comparingInt(slot -> -slot.free).thenComparingLong(slot -> slot.departs)
+            .thenComparingLong(slot -> slot.id);
+
+    private final Map<String, Map<String, NavigableMap<LocalDate, NavigableSet<Slot>>>> byRoute = new ConcurrentHashMap<>();
+    private final Map<Airplane, Slot> current = new ConcurrentHashMap<>();
+
+    AvailabilityIndex() {
+        FlightEvents.addListener(this);
+    }
+
+    /* add puts a new airplane of the schedule in the index. The route is put in lowercase here, on the thread of the manager.
+     * The updates that follow come from the BookingService threads and only use the Slot, they never call back into Manager. The hard-coded
+     * bookings of the Schedule are made while Manager is still being loaded, and a booking thread waiting for Manager there would never finish.
+     */
+    void add(Airplane airplane) {
+        String origin = Manager.nameKey(airplane.origin);
+        String destination = Manager.nameKey(airplane.destination);
+        current.compute(airplane, (a, old) -> {
+            if (old != null) {
+                dayOf(old).remove(old);
+            }
+            Slot slot = new Slot(a, origin, destination, a.countFree());
+            dayOf(slot).add(slot);
+            return (slot);
+        });
+    }
+
+    /* update sorts the airplane again after its number of free seats changed. Nothing is done if it is still the same or the airplane is not in the index. */
+    void update(Airplane airplane) {
+        current.computeIfPresent(airplane, (a, old) -> {
+            int free = a.countFree();
+            if (free == old.free) {
+                return (old);
+            }
+            NavigableSet<Slot> day = dayOf(old);
+            day.remove(old);
+            Slot slot = old.moved(free);
+            day.add(slot);
+            return (slot);
+        });
+    }
+
+    void remove(Airplane airplane) {
+        current.computeIfPresent(airplane, (a, old) -> {
+            dayOf(old).remove(old);
+            return (null);
+        });
+    }
+
+    /* available returns the airplanes from origin to destination that depart on a day from fromDay to tillDay (both included) and have at least
+     * 'seats' free seats, in the order they depart. The places don't care about upper or lower case. Held seats are not free.
+     */
+    List<Airplane> available(String origin, String destination, LocalDate fromDay, LocalDate tillDay, int seats) {
+        List<Slot> found = new ArrayList<>();
+        Map<String, NavigableMap<LocalDate, NavigableSet<Slot>>> destinations = byRoute.get(Manager.nameKey(origin));
+        NavigableMap<LocalDate, NavigableSet<Slot>> days = destinations == null ? null : destinations.get(Manager.nameKey(destination));
+        if (days == null || fromDay.isAfter(tillDay)) {
+            return (new ArrayList<>());
+        }
+        for (NavigableSet<Slot> day : days.subMap(fromDay, true, tillDay, true).values()) {
+            for (Slot slot : day) {
+                if (slot.free < seats) {
+                    break;
+                }
+                found.add(slot);
+            }
+        }
+        found.sort(Comparator.<Slot>comparingLong(slot -> slot.departs).thenComparingLong(slot -> slot.id));
+        List<Airplane> airplanes = new ArrayList<>(found.size());
+        for (Slot slot : found) {
+            airplanes.add(slot.airplane);
+        }
+        return (airplanes);
+    }
+
+    private NavigableSet<Slot> dayOf(Slot slot) {
+        return (byRoute.computeIfAbsent(slot.origin, o -> new ConcurrentHashMap<>())
+                .computeIfAbsent(slot.destination, d -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(slot.day, d -> new ConcurrentSkipListSet<>(MOST_FREE)));
+    }
+
+    public void seatBooked(Airplane airplane, Seat seat) {
+        update(airplane);
+    }
+
+    public void seatHeld(Airplane airplane, Seat seat) {
+        update(airplane);
+    }
+
+    public void seatReleased(Airplane airplane, Seat seat) {
+        update(airplane);
+    }
+}
@@ -0,0 +1,43 @@
+/* BookingResult is what a booking request produces. success tells us if the seat was booked, seat is the Seat that was requested, price is the
+ * amount the traveller was charged for it (0 if the booking failed) and message is a readable status we can show to the user.
+ * For a group booking, seats contains every seat of the group, seat is the first one of them and price is the amount charged for the whole group.
+ * For a single seat, seats contains just that one seat.
+ * retry is true when the request was not even tried (the BookingService was too busy). Such a result is not remembered by the RequestCache,
+ * so sending the same request id again really tries again.
+ */
+class BookingResult {
+    boolean success;
+    Seat seat;
+    Seat[] seats;
+    double price;
+    String message;
+    boolean retry;
+
+    BookingResult(boolean success, Seat seat, double price, String message) {
+        this.success = success;
+        this.seat = seat;
+        this.seats = new Seat[] { seat };
+        this.price = price;
+        this.message = message;
+    }
+
+    BookingResult(boolean success, Seat[] seats, double price, String message) {
+        this.success = success;
+        if (seats.length > 0) {
+            this.seat = seats[0];
+        }
+        this.seats = seats;
+        this.price = price;
+        this.message = message;
+    }
+
+    static BookingResult busy(Seat[] seats) {
+        BookingResult result = new BookingResult(false, seats, 0, "Booking system is busy, try again.");
+        result.retry = true;
+        return (result);
+    }
+
+    public String toString() {
+        return (message);
+    }
+}
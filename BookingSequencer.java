@@ -0,0 +1,137 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/* BookingSequencer is the optional flash-sale mode of an airplane. When thousands of travellers book the SAME airplane at once, the pool threads of
+ * the BookingService all fight over the same bitmap words and the same PricingEngine quote, and most compareAndSets fail and retry.
+ * With a sequencer, every single-seat booking of the airplane is done by ONE thread, its writer, one after the other. Nobody fights with it.
+ *
+ * The requests are handed to the writer through a ring buffer. The ring is an array of Slots that is made ONCE when the sequencer is made, and the
+ * slots are reused over and over. A slot holds the traveller, the seat and the CompletableFuture the caller is waiting on, so passing a request on
+ * to the writer doesn't create any object and takes no lock.
+ * - A producer (any thread) takes the next sequence number with compareAndSet on 'claimed', fills in the slot of that number and then publishes
+ *   it by writing the number into the slot. If the ring is full, publish returns false straight away instead of waiting.
+ * - The writer goes through the sequence numbers in order. When the slot of the next number has been published, it books the seat, completes the
+ *   future of the request with the BookingResult and moves 'consumed' on, which frees the slot for the producers. Every request in the ring was
+ *   let in by the AdmissionControl of the airplane (see BookingService.book), so the writer also tells it the booking is done.
+ * - When there is nothing to do, the writer spins for a short while and then parks. A producer that sees the writer parked unparks it.
+ *
+ * Only the hand-off is free of objects and locks. The booking itself is the same as on the pool: the caller gets a new CompletableFuture and a new
+ * BookingResult, the PricingEngine makes a new PriceQuote, the Seat writes the line of the invoice of the traveller under the lock of the traveller,
+ * and the FlightListeners do their own work for the seatBooked event (FlightEvents itself takes no lock and makes no object).
+ * What the writer removes is the fighting: only one thread claims seats and moves the price of this airplane, so its compareAndSets and monitors
+ * are never contended.
+ *
+ * Holds and group bookings still go to the SeatInventory directly, so the writer still claims seats with the inventory (a compareAndSet that
+ * nobody else is fighting over is very cheap).
+ */
+class BookingSequencer {
+    private static final int SPINS = 1000;
+
+    /* A Slot is one place in the ring. sequence is the number of the request in it, or an older number while the slot is being filled in. */
+    static class Slot {
+        volatile long sequence = -1;
+        Traveller traveller;
+        Seat seat;
+        CompletableFuture<BookingResult> future;
+    }
+
+    private final Slot[] ring;
+    private final AdmissionControl admission;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed = 0;
+    private volatile boolean sleeping = false;
+    private volatile boolean running = true;
+    private final Thread writer;
+
+    /* ringSize is rounded up to a power of two so that the slot of a sequence number is just (sequence & mask). */
+    BookingSequencer(String name, int ringSize, AdmissionControl admission) {
+        this.admission = admission;
+        int size = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1;
+        ring = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Slot();
+        }
+        mask = size - 1;
+        writer = new Thread(new Runnable() {
+            public void run() {
+                runWriter();
+            }
+        }, "sequencer-" + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /* publish hands one booking to the writer. It returns false if the ring is full or the sequencer was stopped, the future is NOT completed then. */
+    boolean publish(Traveller traveller, Seat seat, CompletableFuture<BookingResult> future) {
+        long sequence;
+        do {
+            if (!running) {
+                return (false);
+            }
+            sequence = claimed.get();
+            if (sequence - consumed >= ring.length) {
+                return (false);
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        Slot slot = ring[(int) (sequence & mask)];
+        slot.traveller = traveller;
+        slot.seat = seat;
+        slot.future = future;
+        slot.sequence = sequence;
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+        return (true);
+    }
+
+    /* stop lets the writer finish what is already in the ring and then end. */
+    void stop() {
+        running = false;
+        LockSupport.unpark(writer);
+    }
+
+    private void runWriter() {
+        long next = 0;
+        int idle = 0;
+        while (true) {
+            Slot slot = ring[(int) (next & mask)];
+            if (slot.sequence == next) {
+                Traveller traveller = slot.traveller;
+                Seat seat = slot.seat;
+                CompletableFuture<BookingResult> future = slot.future;
+                slot.traveller = null;
+                slot.seat = null;
+                slot.future = null;
+                next++;
+                consumed = next;
+                idle = 0;
+                BookingResult result;
+                try {
+                    result = Request.process(traveller, seat);
+                } catch (RuntimeException e) {
+                    result = new BookingResult(false, seat, 0, "Booking failed: " + e.getMessage());
+                }
+                admission.done(1);
+                future.complete(result);
+            } else if (!running && claimed.get() == next) {
+                /* Nothing is left in the ring. Moving 'claimed' far ahead makes every later publish see a full ring, so no request can be put
+                 * in the ring after the writer has gone. If a producer claimed a number just before, the compareAndSet fails and we book it first.
+                 */
+                if (claimed.compareAndSet(next, Long.MAX_VALUE / 2)) {
+                    return;
+                }
+            } else if (idle < SPINS) {
+                idle++;
+                Thread.onSpinWait();
+            } else {
+                sleeping = true;
+                if (slot.sequence != next && running) {
+                    LockSupport.parkNanos(1000000L);
+                }
+                sleeping = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/* BookingService runs every booking Request on ONE shared pool of threads instead of a new thread per request.
+ * Creating a platform thread is expensive, so at tens of thousands of bookings per second we would spend most of the time creating threads.
+ * The pool has as many threads as the machine has cores (booking is short CPU work, more threads would only fight over the cores) and a bounded
+ * queue in front of it, so a booking storm cannot make the JVM create an unlimited number of waiting tasks either.
+ *
+ * submit() never blocks the caller. It returns a CompletableFuture<BookingResult> straight away and the future completes when the Request has been
+ * processed. The JavaFX handlers use thenAccept on it so that the Application thread is never stuck waiting for a booking.
+ * If the queue is full, the future completes immediately with an unsuccessful BookingResult instead of blocking.
+ *
+ * The threads are daemon threads so that closing the GUI still ends the program.
+ *
+ * Before a booking is handed to the pool, the AdmissionControl of the airplane must let it in. During a booking storm most requests are turned
+ * away there in a few atomic operations instead of piling up in the queue (see AdmissionControl).
+ *
+ * Every booking function can also be given a request id (see RequestCache). A retry with the same id gets the future of the first request back
+ * and costs one map lookup, it is never booked or priced a second time.
+ */
+class BookingService {
+    static final int POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+    static final int QUEUE_CAPACITY = 65536;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), new ThreadFactory() {
+                public Thread newThread(Runnable task) {
+                    Thread thread = new Thread(task, "booking-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return (thread);
+                }
+            });
+    private static final RequestCache<BookingResult> requests = new RequestCache<>(RequestCache.DEFAULT_CAPACITY,
+            RequestCache.DEFAULT_TTL_MILLIS, result -> !result.retry);
+
+    /* A Request has already been let in by the AdmissionControl. process tells the AdmissionControl when it is done, and so does this function
+     * if the pool turns the Request away.
+     */
+    static CompletableFuture<BookingResult> submit(Request request) {
+        try {
+            return (CompletableFuture.supplyAsync(request::process, executor));
+        } catch (RejectedExecutionException e) {
+            request.admission.done(1);
+            return (CompletableFuture.completedFuture(BookingResult.busy(new Seat[] { request.seatObj })));
+        }
+    }
+
+    /* book is the path of every single seat, so the AdmissionControl is asked and told inline here instead of through admitted, which would make a
+     * Supplier and a whenComplete callback for every booking.
+     * If the airplane has a BookingSequencer (flash-sale mode), the booking goes into its ring instead of the pool. The future is completed by
+     * the writer of the airplane, which also tells the AdmissionControl the booking is done.
+     */
+    static CompletableFuture<BookingResult> book(Traveller traveller, Seat seatObj) {
+        Airplane airplane = traveller.airplane;
+        BookingResult refused = airplane.admission.admit(1);
+        if (refused != null) {
+            return (CompletableFuture.completedFuture(refused));
+        }
+        BookingSequencer sequencer = airplane.sequencer;
+        if (sequencer != null) {
+            CompletableFuture<BookingResult> future = new CompletableFuture<>();
+            if (!sequencer.publish(traveller, seatObj, future)) {
+                airplane.admission.done(1);
+                future.complete(BookingResult.busy(new Seat[] { seatObj }));
+            }
+            return (future);
+        }
+        return (submit(new Request(traveller, seatObj, airplane.admission)));
+    }
+
+    /* A GroupRequest is processed the same way, as ONE task for the whole group. */
+    static CompletableFuture<BookingResult> submit(GroupRequest request) {
+        try {
+            return (CompletableFuture.supplyAsync(request::process, executor));
+        } catch (RejectedExecutionException e) {
+            return (CompletableFuture.completedFuture(BookingResult.busy(new Seat[0])));
+        }
+    }
+
+    static CompletableFuture<BookingResult> bookGroup(Traveller traveller, int[] positions) {
+        return (admitted(traveller.airplane, positions.length, () -> submit(new GroupRequest(traveller, positions))));
+    }
+
+    static CompletableFuture<BookingResult> bookTogether(Traveller traveller, int count) {
+        return (admitted(traveller.airplane, Math.max(0, count), () -> submit(new GroupRequest(traveller, count))));
+    }
+
+    /* An ItineraryRequest is also ONE task, for all the legs of the journey. */
+    static CompletableFuture<BookingResult> submit(ItineraryRequest request) {
+        try {
+            return (CompletableFuture.supplyAsync(request::process, executor));
+        } catch (RejectedExecutionException e) {
+            return (CompletableFuture.completedFuture(BookingResult.busy(new Seat[0])));
+        }
+    }
+
+    static CompletableFuture<BookingResult> bookItinerary(Traveller traveller, Airplane[] legs, int[][] positions) {
+        int[] seats = new int[legs.length];
+        for (int i = 0; i < legs.length && positions != null && i < positions.length; i++) {
+            if (positions[i] == null) {
+                throw new IllegalArgumentException("no seats are given for leg " + (i + 1) + " of the journey.");
+            }
+            seats[i] = positions[i].length;
+        }
+        return (admitted(legs, seats, () -> submit(new ItineraryRequest(traveller, legs, positions))));
+    }
+
+    static CompletableFuture<BookingResult> bookItinerary(Traveller traveller, Airplane[] legs, int count) {
+        int[] seats = new int[legs.length];
+        for (int i = 0; i < legs.length; i++) {
+            seats[i] = Math.max(0, count);
+        }
+        return (admitted(legs, seats, () -> submit(new ItineraryRequest(traveller, legs, count))));
+    }
+
+    /* admitted asks the AdmissionControl of the airplane to let the request in. If it is let in, work starts the request and the AdmissionControl
+     * is told when the request has finished. If it isn't, the refusal is returned at once and work is never called.
+     */
+    private static CompletableFuture<BookingResult> admitted(Airplane airplane, int seats, Supplier<CompletableFuture<BookingResult>> work) {
+        BookingResult refused = airplane.admission.admit(seats);
+        if (refused != null) {
+            return (CompletableFuture.completedFuture(refused));
+        }
+        CompletableFuture<BookingResult> future;
+        try {
+            future = work.get();
+        } catch (RuntimeException e) {
+            airplane.admission.done(seats);
+            throw e;
+        }
+        future.whenComplete((result, error) -> airplane.admission.done(seats));
+        return (future);
+    }
+
+    /* An itinerary must be let in by the AdmissionControl of EVERY leg. If one leg refuses, the legs that already let it in are told it is done. */
+    private static CompletableFuture<BookingResult> admitted(Airplane[] legs, int[] seats, Supplier<CompletableFuture<BookingResult>> work) {
+        for (int i = 0; i < legs.length; i++) {
+            BookingResult refused = legs[i].admission.admit(seats[i]);
+            if (refused != null) {
+                for (int undo = 0; undo < i; undo++) {
+                    legs[undo].admission.done(seats[undo]);
+                }
+                return (CompletableFuture.completedFuture(refused));
+            }
+        }
+        CompletableFuture<BookingResult> future;
+        try {
+            future = work.get();
+        } catch (RuntimeException e) {
+            for (int i = 0; i < legs.length; i++) {
+                legs[i].admission.done(seats[i]);
+            }
+            throw e;
+        }
+        future.whenComplete((result, error) -> {
+            for (int i = 0; i < legs.length; i++) {
+                legs[i].admission.done(seats[i]);
+            }
+        });
+        return (future);
+    }
+
+    /* cancel cancels a booked seat of the traveller on the pool. The price of the BookingResult is the amount refunded. */
+    static CompletableFuture<BookingResult> cancel(Traveller traveller, Seat seatObj) {
+        try {
+            return (CompletableFuture.supplyAsync(() -> {
+                double refund = seatObj.cancel(traveller);
+                if (refund == -2) {
+                    return (new BookingResult(false, seatObj, 0, seatObj.airplane.name + " has departed, " + seatObj.position + " can't be cancelled."));
+                }
+                if (refund < 0) {
+                    return (new BookingResult(false, seatObj, 0, seatObj.position + " is not booked by you."));
+                }
+                return (new BookingResult(true, seatObj, refund, seatObj.position + " cancelled, refunded " + String.format("%.2f", refund) + "."));
+            }, executor));
+        } catch (RejectedExecutionException e) {
+            return (CompletableFuture.completedFuture(BookingResult.busy(new Seat[] { seatObj })));
+        }
+    }
+
+    /* These are the same bookings with a request id. A null id means the caller doesn't need the request to be idempotent. */
+    static CompletableFuture<BookingResult> book(Traveller traveller, Seat seatObj, String requestId) {
+        if (requestId == null) {
+            return (book(traveller, seatObj));
+        }
+        return (requests.run(requestId, () -> book(traveller, seatObj)));
+    }
+
+    static CompletableFuture<BookingResult> bookGroup(Traveller traveller, int[] positions, String requestId) {
+        if (requestId == null) {
+            return (bookGroup(traveller, positions));
+        }
+        return (requests.run(requestId, () -> bookGroup(traveller, positions)));
+    }
+
+    static CompletableFuture<BookingResult> bookTogether(Traveller traveller, int count, String requestId) {
+        if (requestId == null) {
+            return (bookTogether(traveller, count));
+        }
+        return (requests.run(requestId, () -> bookTogether(traveller, count)));
+    }
+
+    static CompletableFuture<BookingResult> bookItinerary(Traveller traveller, Airplane[] legs, int count, String requestId) {
+        if (requestId == null) {
+            return (bookItinerary(traveller, legs, count));
+        }
+        return (requests.run(requestId, () -> bookItinerary(traveller, legs, count)));
+    }
+
+    static CompletableFuture<BookingResult> bookItinerary(Traveller traveller, Airplane[] legs, int[][] positions, String requestId) {
+        if (requestId == null) {
+            return (bookItinerary(traveller, legs, positions));
+        }
+        return (requests.run(requestId, () -> bookItinerary(traveller, legs, positions)));
+    }
+}
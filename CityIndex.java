@@ -0,0 +1,55 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/* CityIndex is the dictionary of every place an airplane of the schedule has ever flown from or to. The schedule scene uses it to suggest
+ * places while the user types an origin or a destination.
+ *
+ * The places are kept in a ConcurrentSkipListMap, which is sorted. The key is the name in lowercase (see Manager.nameKey) and the value is the name
+ * the way it was first written, so "hong kong" and "Hong Kong" are the same place and are always shown as the first one.
+ * Because the map is sorted, all the places that start with the same letters are next to each other. suggest finds the first one in O(log n)
+ * and then walks forward until a place doesn't start with them anymore, O(log n + k) for k suggestions.
+ *
+ * Manager.addEntry adds the origin and destination of every new airplane. Places are never taken out, so the places of departed airplanes
+ * (in the Report) can still be suggested. It is a concurrent map, so the GUI can ask for suggestions while the manager adds airplanes.
+ */
+class CityIndex {
+    static final int MAX_SUGGESTIONS = 8;
+
+    private final ConcurrentSkipListMap<String, String> cities = new ConcurrentSkipListMap<>();
+
+    /* add puts a place in the dictionary, unless it is already there in some case. */
+    void add(String city) {
+        if (city == null || city.trim().isEmpty()) {
+            return;
+        }
+        String name = city.trim();
+        cities.putIfAbsent(Manager.nameKey(name), name);
+    }
+
+    /* suggest returns at most 'limit' places that start with the typed text (in any case), in alphabetical order. Empty text suggests nothing. */
+    List<String> suggest(String typed, int limit) {
+        List<String> found = new ArrayList<>();
+        String prefix = Manager.nameKey(typed.trim());
+        if (prefix.isEmpty()) {
+            return (found);
+        }
+        for (Map.Entry<String, String> entry : cities.tailMap(prefix, true).entrySet()) {
+            if (found.size() == limit || !entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            found.add(entry.getValue());
+        }
+        return (found);
+    }
+
+    /* canonical returns the place the way it is written in the dictionary, or null if no airplane has flown from or to it. */
+    String canonical(String city) {
+        return (cities.get(Manager.nameKey(city.trim())));
+    }
+
+    int size() {
+        return (cities.size());
+    }
+}
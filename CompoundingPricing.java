@@ -0,0 +1,15 @@
+/* CompoundingPricing is the pricing every airplane had from the start: every seat sold makes the next seat 'factor' times more expensive
+ * (1.1 for 10%). Instead of multiplying the price once per sale, the price is worked out straight from the number of seats sold,
+ * basePrice * factor^sold, so it doesn't matter in which order the sales happen.
+ */
+class CompoundingPricing implements PricingStrategy {
+    final double factor;
+
+    CompoundingPricing(double factor) {
+        this.factor = factor;
+    }
+
+    public double price(double basePrice, int sold, int capacity, long millisToDeparture) {
+        return (basePrice * Math.pow(factor, sold));
+    }
+}
@@ -0,0 +1,47 @@
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+/* Connection is one journey found by the ConnectionSearch. It can be a direct flight or several flights one after the other.
+ * (Airplane[]) legs are the airplanes of the journey in order. They can be booked together with Traveller.bookItineraryAsync(legs, count).
+ * (long) departs is when the first airplane leaves and arrives is when the last one gets there, in milliseconds like Calendar.getTimeInMillis.
+ * (double) price is what one seat on every leg cost at the time of the search. The prices can change before the journey is booked.
+ */
+class Connection {
+    final Airplane[] legs;
+    final long departs;
+    final long arrives;
+    final double price;
+
+    Connection(Airplane[] legs, long departs, long arrives, double price) {
+        this.legs = legs;
+        this.departs = departs;
+        this.arrives = arrives;
+        this.price = price;
+    }
+
+    /* The string of a Connection is shown in the ListView of the schedule scene, like the string of an Airplane. VIA lists the places where
+     * the traveller changes airplanes.
+     */
+    public String toString() {
+        StringBuilder text = new StringBuilder(128);
+        for (int i = 0; i < legs.length; i++) {
+            text.append(i == 0 ? "" : " > ").append(legs[i].name);
+        }
+        text.append(" | FROM: ").append(legs[0].origin).append(" | TO: ").append(legs[legs.length - 1].destination);
+        if (legs.length > 1) {
+            text.append(" | VIA: ");
+            for (int i = 1; i < legs.length; i++) {
+                text.append(i == 1 ? "" : ", ").append(legs[i].origin);
+            }
+        }
+        Calendar time = new GregorianCalendar();
+        time.setTimeInMillis(departs);
+        text.append(" | DEPARTURE TIME: ");
+        Airplane.appendTime(text, time);
+        time.setTimeInMillis(arrives);
+        text.append(" | ARRIVAL TIME: ");
+        Airplane.appendTime(text, time);
+        text.append(" | PRICE: ").append(price);
+        return (text.toString());
+    }
+}
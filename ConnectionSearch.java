@@ -0,0 +1,128 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/* ConnectionSearch finds journeys from one place to another, with changes of airplane on the way. For example Sydney to Bangalore is MH200 to Delhi
+ * and then A350 to Bangalore.
+ *
+ * The schedule is seen as a graph. The places are the nodes and every airplane is an edge from its origin to its destination that can only be
+ * taken at its departure time. A journey can go on from a place with an airplane that leaves at least minLayover and at most maxLayover after
+ * the last airplane got there. The RouteIndex of the schedule keeps the airplanes leaving every place ordered by departure time (RouteIndex.departing),
+ * so the airplanes that can be taken next are found in O(log n + k) without looking at the rest of the schedule.
+ *
+ * The search without layovers uses MIN_LAYOVER_MILLIS and MAX_LAYOVER_MILLIS, a layover of 30 minutes to a day. A longer maxLayover can be passed
+ * in, but every extra day of layover is more airplanes to look at from every place. (The airplanes of the hard-coded schedule are weeks apart, so
+ * the GUI passes its own maxLayover to find MH200 and then A350.)
+ *
+ * The search is best first. Unfinished journeys wait in a PriorityQueue, ordered by arrival time (BY_ARRIVAL) or by price (BY_PRICE). The best one is
+ * taken out and made longer by every airplane that can be taken next. Adding an airplane never makes a journey arrive earlier or cost less,
+ * so the first journeys that are taken out at the destination are the best ones. The search stops as soon as it has k of them.
+ *
+ * A journey never comes back to a place it has already been to and never has more than maxLegs airplanes. Full airplanes are skipped, and so are
+ * airplanes that land before they take off: the search counts on a journey never arriving earlier when it gets longer.
+ * At most MAX_EXPANSIONS unfinished journeys are looked at, so a search on a very large schedule still ends in a few milliseconds.
+ */
+class ConnectionSearch {
+    static final int BY_ARRIVAL = 0;
+    static final int BY_PRICE = 1;
+    static final long MIN_LAYOVER_MILLIS = 30 * 60 * 1000L;
+    static final long MAX_LAYOVER_MILLIS = 24 * 60 * 60 * 1000L;
+    static final int MAX_LEGS = 3;
+    static final int MAX_EXPANSIONS = 100000;
+
+    /* A Path is an unfinished journey. It only remembers its last leg and the Path before it, so making it one leg longer is O(1). */
+    private static class Path {
+        final RouteIndex.Leg leg;
+        final Path previous;
+        final int legs;
+        final double price;
+
+        Path(RouteIndex.Leg leg, Path previous) {
+            this.leg = leg;
+            this.previous = previous;
+            this.legs = (previous == null) ? 1 : previous.legs + 1;
+            this.price = ((previous == null) ? 0 : previous.price) + leg.airplane.seatPrice();
+        }
+
+        /* visits is true if the journey has already been to this place. */
+        boolean visits(String place) {
+            for (Path path = this; path != null; path = path.previous) {
+                if (path.leg.destination.equals(place) || path.leg.origin.equals(place)) {
+                    return (true);
+                }
+            }
+            return (false);
+        }
+
+        Connection toConnection() {
+            Airplane[] airplanes = new Airplane[legs];
+            Path path = this;
+            for (int i = legs - 1; i > 0; i--) {
+                airplanes[i] = path.leg.airplane;
+                path = path.previous;
+            }
+            airplanes[0] = path.leg.airplane;
+            return (new Connection(airplanes, path.leg.departs, leg.arrives, price));
+        }
+    }
+
+    private static final Comparator<Path> ARRIVAL = Comparator.<Path>comparingLong(path -> path.leg.arrives).thenComparingDouble(path -> path.price);
+    private static final Comparator<Path> PRICE = Comparator.<Path>comparingDouble(path -> path.price).thenComparingLong(path -> path.leg.arrives);
+
+    /* search returns the k best journeys from origin to destination with the default layovers and number of legs, leaving at any time. */
+    static List<Connection> search(String origin, String destination, int k, int order) {
+        return (search(origin, destination, MAX_LAYOVER_MILLIS, k, order));
+    }
+
+    /* search returns the k best journeys from origin to destination with at most maxLayover (milliseconds) between two airplanes. */
+    static List<Connection> search(String origin, String destination, long maxLayover, int k, int order) {
+        return (search(origin, destination, Long.MIN_VALUE, Long.MAX_VALUE, MIN_LAYOVER_MILLIS, maxLayover, MAX_LEGS, k, order));
+    }
+
+    /* search returns at most k journeys from origin to destination whose first airplane leaves between departsFrom and departsTill (milliseconds),
+     * best first by arrival time or price. The names of the places can be in any case.
+     */
+    static List<Connection> search(String origin, String destination, long departsFrom, long departsTill, long minLayover, long maxLayover,
+            int maxLegs, int k, int order) {
+        if (minLayover < 0 || maxLayover < minLayover || maxLegs < 1) {
+            throw new IllegalArgumentException("Layovers must be 0 <= minLayover <= maxLayover and there must be at least one leg.");
+        }
+        String from = Manager.nameKey(origin);
+        String to = Manager.nameKey(destination);
+        List<Connection> found = new ArrayList<>();
+        if (k <= 0 || from.equals(to)) {
+            return (found);
+        }
+        PriorityQueue<Path> open = new PriorityQueue<>(order == BY_PRICE ? PRICE : ARRIVAL);
+        for (RouteIndex.Leg leg : Schedule.routeIndex.departing(from, departsFrom, departsTill)) {
+            if (canTake(leg)) {
+                open.add(new Path(leg, null));
+            }
+        }
+        int expansions = 0;
+        while (!open.isEmpty() && found.size() < k && expansions < MAX_EXPANSIONS) {
+            Path path = open.poll();
+            if (path.leg.destination.equals(to)) {
+                found.add(path.toConnection());
+                continue;
+            }
+            if (path.legs == maxLegs) {
+                continue;
+            }
+            expansions++;
+            long arrives = path.leg.arrives;
+            for (RouteIndex.Leg next : Schedule.routeIndex.departing(path.leg.destination, arrives + minLayover, arrives + maxLayover)) {
+                if (canTake(next) && !path.visits(next.destination)) {
+                    open.add(new Path(next, path));
+                }
+            }
+        }
+        return (found);
+    }
+
+    /* canTake is true if the airplane of the leg still has a free seat and doesn't land before it takes off. */
+    private static boolean canTake(RouteIndex.Leg leg) {
+        return (leg.arrives >= leg.departs && !leg.airplane.isFull());
+    }
+}
@@ -13,10 +13,22 @@ import javafx.scene.control.*;
 import javafx.geometry.*;
 import javafx.collections.*;
 import javafx.collections.transformation.FilteredList;
-import java.text.SimpleDateFormat;
-import java.text.ParseException;
-import java.util.Date;
 import java.util.Scanner;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 
 // *********VERY IMPORTANT***********
 /* Calendar and GregorianCalendar will be used in the program to log the booking time of the passenger. It will also be used to capture the arrival and departure time of airplanes.
@@ -41,15 +53,15 @@ import java.util.Scanner;
  * in javafx.scene.control. This will be used for making schedules, reports, etc.
  * 
  * javafx.collections.transformation.FilteredList will import generic class FilteredList which will be used to filter the required elements from an ObservableList. This will be used for the
- * search feature in the application. We can search through airplanes in the schedule.
+ * report of fully booked flights.
  * 
- * javafx.text.SimpleDateFormat will be used to store the input of TextField inputs as HH:MM or DD-MM-YYYY format. This is used in conjunction with ParseException class in java.text which
- * helps exception handling when trying to convert a string text to HH:MM or DD-MM-YYYY format.
+ * java.util.Scanner provides the scanner object which can be used to take user inputs.
  * 
- * java.util.Date also has features which we can use for dates. We can store dates in HH:MM, DD-MM-YYYY format. We can compare between dates and see if a date/time lies between two timestamps.
- * This is similar to Calendar and GregorianCalendar but easier to use when trying to store raw text from TextField as dates.
+ * java.util.HashMap and java.util.Map are used by ScheduleView to remember the FlightView (the JavaFX properties) of every airplane.
  * 
- * java.util.Scanner provides the scanner object which can be used to take user inputs.
+ * This file only contains the GUI. The booking core (Seat, SeatInventory, Airplane, Schedule, Manager, Report, Traveller, BookingService, etc.) lives
+ * in its own files and doesn't use JavaFX at all, so it can run on a server with no display. The GUI finds out about changes in the core by
+ * registering a FlightListener (ScheduleView below) with FlightEvents.
  */
 
  
@@ -67,833 +79,176 @@ class AllSeatsBooked extends Exception {
     }
 }
 
-/* This ia Seat class. It represents a Seat inside an airplane.
- * (int) position attribute represents its seat number. This will be used during booking
- * (String) airlines_name attribute represents the name of the airplane it is present in.
- * (String) passenger_name attribute represents the naem of the passenger that has booked the seat. By default, a seat is initialized to have a NULL passenger_name as it isn't booked.
- * 
- * (BooleanProperty) booked attribute represents a boolean value that tells us if a seat is booked or not, but with a twist! JavaFX elements like Label, Button can be BINDED to this BooleanProperty
- * Therefore whenever a seat is booked, a Label or Button can immediately detect it! By default, a seat is initialized to have a 'false' booked attribute as it isn't booked.
- * 
- * (double) seatPrice attribute represents the price of the seat. 
- * (Calendar) booking_time attribute represents the time at which the seat was booked. By default, a seat is initialized to have a NULL booking_time as it isn't booked.
- * 
- * (ToggleButton) ref attribute is the ToggleButton associated to it. During seat booking, we use ToggleButtons to book a seat. Therefore, we link the ToggleButton and its respective seat like this!
- */
-class Seat {
-    int position;
-    String airlines_name;
-    String passenger_name;
-    BooleanProperty booked;
-    double seatPrice;
-    Calendar booking_time;
-    ToggleButton ref;
-
-    /*
-     * In this program, each time a booking is made, a new thread is made 
-     * that will call the book function. This function is made synchronized so that only one thread can access the seat object at a time! We don't want multiple threads (or users) to book a single seat
-     * 
-     * When a thread gets into the book function, it will check the booked variable of the Seat object. If the booked is false (if the seat isn't already booked), we set the passenger_name
-     * of the seat to the name of the traveller who has accessed the seat. The totalCost of the traveller (an attribute to track the total expense of a traveller) with the price of seat in the airplane.
-     * We then set the value of the booked variable to true and increment the number of booked seats in the airplane by 1. (bookedSeats is an attribute in the airplane class to track number of booked seats.)
-     * booking_time is also assigned the current date and time to reflect the time at which the booking was made. 
-     * timeOfBooking is a String that will store the booking_time Calendar object in the format HH:MM DD/MM/YYYY
-     * We will also return a (1) after all this to show that booking was successful for a thread!
-     * Now once this value is returned, the thread exits the synchronized block and other threads start entering the block one-by-one. 
-     * 
-     * This time however, the booked variable of the Seat object is checked but the booked variable is now 'true'... meaning the seat has already been booked.
-     * As a result it returns (0) to show that booking was unsuccessful for a thread.
-     * 
-     * This mechanism ensures that only one thread can book a seat at a time. 
-     */
-    synchronized int book(Traveller traveller) {
-        if (booked.get() == false) {
-            passenger_name = traveller.getPassengerName();
-            traveller.totalCost = traveller.totalCost + traveller.airplane.seatPrice.get();
-            Platform.runLater(new Runnable() {
-                public void run() {
-                    booked.set(true);
-                    traveller.airplane.bookedSeats.set(traveller.airplane.bookedSeats.get() + 1);
-                }
-            });
-            booking_time = new GregorianCalendar();
-            String timeOfBooking = booking_time.get(Calendar.HOUR_OF_DAY) + ":" + booking_time.get(Calendar.MINUTE)
-                    + " " + booking_time.get(Calendar.DAY_OF_MONTH) + "/" + (booking_time.get(Calendar.MONTH) + 1) + "/"
-                    + booking_time.get(Calendar.YEAR);
-            traveller.seats_booked.add("SEAT " + position + " | " + "BOOKING TIME: " + timeOfBooking + " | " + "AIRLINE: " + airlines_name
-                            + " | " + "BOOKED UNDER: " + passenger_name + " | SEAT PRICE: " + seatPrice);
-            return(1);           
-        } else {
-            return(0);
-        }
-    }
-
-    /* These are setter functions that help settings the seat number and airlines_name of the seat. This will be helpful when we're initializing the seats of an Airplane */
-    void updateSeatNo(int position) {
-        this.position = position;
-    }
-
-    void updateAirlinesName(String airlines_name) {
-        this.airlines_name = airlines_name;
-    }
-
-    /* This is a Seat constructor that will help construct a Seat object. It takes a seatPrice parameter. The seatPrice of the seat is then set. The booked state of the seat is
-     * made 'false' as the seat is not booked. The passenger_name of the seat is made empty as the seat is not booked. The booking_time is also made 'null' as the seat is not booked.
-     */
-
-    Seat(double seatPrice) {
-        this.seatPrice = seatPrice;
-        this.booked = new SimpleBooleanProperty(false);
-        this.passenger_name = "";
-        this.booking_time = null;
-    }
-}
-
-/* Airplane class represents an Airplane.
- * (String) It has 'name', 'type', 'origin', 'destination' attributes that are self explanatory. It contains the name of the airplane, type (Domestic/International), from location and the to location respectively
- * (Calendar) arrival and departure are objects that will be used to record the arrival time and departure time of airplanes respectively. 
- * 
- * (DoubleProperty) seatPrice records the price of each seat in the airplane. Why is it made to a DoubleProperty and not a normal double? Making it into a DoubleProperty ensures that 
- * JavaFX elements like Label can be binded to it! Meaning if the seatPrice changes, the text Label will also change. This will be used to show the change of seat price during the time of seat 
- * booking. (Important for dynamic pricing, we will come back to this..)
- * 
- * (IntegerProperty) bookedSeats records the number of booked seats in the airplane. Why is it made to an IntegerProperty and not a normal integer? We wanna bind JavaFX elements to it. You
- * cannot bind JavaFX elements to normal integers or doubles. You can also add listeners to IntegerProperty, DoubleProperty etc that will DETECT CHANGE! So if IntegerProperty changes, we can
- * make a certain code run. In this program, we have a feature that detects change in bookedSeats. If this change is such that the number of bookedSeats is equal to the total number of seats,
- * we alert the user that the airplane is FULLY booked!
- * 
- * (Seat[]) seats is an array of seats (Seat object) in the airplane. 
- * 
- * (boolean) departed represents if an airplane is departed or not. If departed, it is set true and if not departed, it will be set to false. Why is it not made to a BooleanProperty?
- * We didn't make it into a BooleanProperty because we don't need to. We don't have any JavaFX element binded to it as opposed to the other cases.
+/* FlightView holds the JavaFX side of ONE airplane. The booking core doesn't know about JavaFX, so the properties that Labels and Buttons are binded
+ * to live here instead of in the Airplane and Seat classes.
+ * (BooleanProperty[]) booked has one BooleanProperty per seat. It is true when the seat is booked or held by a traveller (see SeatHold), in both cases
+ * nobody else can book it. The seat ToggleButtons are disabled through it.
+ * (DoubleProperty) seatPrice is the current price of a seat in the airplane. The price Label in the booking scene is binded to it.
+ * (IntegerProperty) bookedSeats is the number of booked seats in the airplane. Held seats are not counted until their hold is confirmed.
+ *
+ * These properties must only be changed on the Application thread of JavaFX. ScheduleView takes care of that.
  */
-class Airplane {
-    String name;
-    String type;
-    String origin, destination;
-    Calendar arrival;
-    Calendar departure;
+class FlightView {
+    BooleanProperty[] booked;
     DoubleProperty seatPrice;
     IntegerProperty bookedSeats;
-    Seat[] seats;
-    boolean departed;
-
-    /*
-     * This is an Airplane constructor that helps construct Airplane objects using parameters name, type, seat_capacity (size of seats array), seatPrice, origin, destination
-     * arrival_hour, arrival_minute, arrival_day, arrival_month, arrival_year which will be used to set the arrival Calendar object
-     * departure_hour, departure_minute, departure_day, departure_month, departure_year which will be used to set the departure Calendar object
-     * 
-     * Once we set all of these to their respective attribute, we will then make the seat array and assign it to seats. We will update each seat in the array with the seat number.
-     * This is done using updateSeatNo, we will give its seat number as its index in the array.
-     * We will update the airplane name of the seat with the name of the airplane object it is present in.
-     * 
-     * We will also be initiating bookedSeats and seatPrice in the below given way. bookedSeats is 0 as initially, no seats are booked. 
-     */
-    Airplane(String name, String type, int seat_capacity, double seatPrice, String origin, String destination,
-            int arrival_minute, int arrival_hour, int arrival_day, int arrival_month, int arrival_year,
-            int departure_minute, int departure_hour, int departure_day, int departure_month, int departure_year) {
-        this.departed = false;
-        this.type = type;
-        this.name = name;
-        this.origin = origin;
-        this.destination = destination;
-        arrival = new GregorianCalendar(arrival_year, arrival_month - 1, arrival_day);
-        arrival.set(Calendar.HOUR_OF_DAY, arrival_hour);
-        arrival.set(Calendar.MINUTE, arrival_minute);
-        departure = new GregorianCalendar(departure_year, departure_month - 1, departure_day);
-        departure.set(Calendar.HOUR_OF_DAY, departure_hour);
-        departure.set(Calendar.MINUTE, departure_minute);
-        this.seats = new Seat[seat_capacity];
-        for (int i = 0; i < seats.length; i++) {
-            seats[i] = new Seat(seatPrice);
-            seats[i].updateSeatNo(i);
-            seats[i].updateAirlinesName(name);
-        }
-        this.bookedSeats = new SimpleIntegerProperty(0);
-        this.seatPrice = new SimpleDoubleProperty(seatPrice);
-    }
-
-    /* This is a function that will count the number of booked seats in the airplane at any moment. It will loop through the array and count the number of the seats whose booked variable
-    is set to true. This function may be unnecessary as we already have a bookedSeats attribute to track the number of seats booked but we've already used it in so many parts of the program.
-    */
-
-    int countBooked() {
-        int count = 0;
-        for (int i = 0; i < seats.length; i++) {
-            if (seats[i].booked.getValue()) {
-                count++;
-            }
-        }
-        return (count);
-    }
-
-    /* VERY IMPORTANT
-     * Every object has a string representation. Everytime .toString() is called on an object, we get the representation in the
-     * form Class_Name@HashCode. It is unreadable and doesn't give us much information. Thus we will be 
-     * overriding the toString() method of the object. This is a method of the Object class which is the ancestor
-     * of every class.
-     * 
-     * Here, we make the toString() method return a string that gives us all the information of an airplane. The name, 
-     * arrival time, departure time, from, to, number of booked seats are given in the string produced in the toString()
-     * method. We will use this string representation of the object whenever we want all the readable details of the object.
-     */
-
-    public String toString() {
-        int bookedSeats = countBooked();
-        // arrival.get(Calendar.MONTH) always returns a month from the range 0-11. You must add 1 to it if you want
-        // to make the month number understandable to the user. Eg - 0 in GregorianCalendar means January.
-        // This however does not apply for the others like Calendar.DAY_OF_MONTH, Calendar.YEAR, etc.
-        String arrival_time = arrival.get(Calendar.HOUR_OF_DAY) + ":" + arrival.get(Calendar.MINUTE) + " "
-                + arrival.get(Calendar.DAY_OF_MONTH) + "/" + (arrival.get(Calendar.MONTH) + 1) + "/"
-                + arrival.get(Calendar.YEAR);
-        // departure.get(Calendar.MONTH) always returns a month from the range 0-11. You must add 1 to it if you want
-        // to make the month number understandable to the user. Eg - 0 in GregorianCalendar means January.
-        // This however does not apply for the others like Calendar.DAY_OF_MONTH, Calendar.YEAR, etc.
-        String departure_time = departure.get(Calendar.HOUR_OF_DAY) + ":" + departure.get(Calendar.MINUTE) + " "
-                + departure.get(Calendar.DAY_OF_MONTH) + "/" + (departure.get(Calendar.MONTH) + 1) + "/"
-                + departure.get(Calendar.YEAR);
-        return (name + " | " + "ARRIVAL TIME: " + arrival_time + " | " + "DEPARTURE TIME: " + departure_time + " | "
-                + "FROM: " + origin + " | " + "TO: " + destination + " | " + "BOOKED SEATS: " + bookedSeats + "/"
-                + seats.length);
-    }
-}
 
-/* Here, a generic class Stack is made of any type T. This is like a normal Stack where we can push, pop and display elements
- * The class Stack has an ArrayList in it which is also a generic class of the type T. Why did we use an ArrayList instead of Array?
- * ArrayList is dynamic, you can continuously add elements to the end of the ArrayList when required. You do not have to
- * statically allocate memory before adding new elements, unlike an Array.
- */
-class Stack<T> {
-    ArrayList<T> arr; 
-    int top;
-    Stack() {
-        arr = new ArrayList<>();
-        top = -1;
-    }
-    /*
-     * .add(data) of an ArrayList adds data to the end of the ArrayList. Increment the top variable by 1 when this is done.
-     */
-    void push(T data) {
-        arr.add(data);
-        top = top + 1;
-    }
-    /* .get(index) returns the element at an index in ArrayList. We will use the top variable to retrieve the last element of the Array.
-     * Once we get it, we decrement the top by 1.
-     */
-    T pop() {
-        if (!arr.isEmpty()) {
-            T popped = arr.get(top);
-            top = top - 1;
-            return (popped);
-        } else {
-            throw new RuntimeException("Stack is Empty");
-        }
-    }
-    /* We iterate through thw ArrayList from index 0 to index top. We will print every element of the Stack.
-     */
-    void display() {
-        for (int i = 0; i <= top; i++) {
-            System.out.println(arr.get(i));
+    /* The constructor copies the current state of the airplane from the booking core. */
+    FlightView(Airplane airplane) {
+        booked = new BooleanProperty[airplane.seats.length];
+        for (int i = 0; i < booked.length; i++) {
+            booked[i] = new SimpleBooleanProperty(airplane.inventory.isTaken(i));
         }
+        seatPrice = new SimpleDoubleProperty(airplane.seatPrice());
+        bookedSeats = new SimpleIntegerProperty(airplane.countBooked());
     }
 }
 
-/* Report is a class that will consist of elements necessary to view the Departed flights, fully booked departed flights, the most frequented destination,
- * booking time and frequented departure period. It is only for the manager to see to obtain statistics of the departed flights.
- * Every member of the Report class is made static because all manager(s) have access to the SAME report. Change is made to this report and reflected
- * to every manager. 
- * 
- * It has attributes 'logs' stack (initiated as empty) which will consist of Airplanes that are departed. Everytime a flight has departed, it gets pushed to 'logs'.
- * 
- * We have an attribute departedFlights which is an observablelist of Airplane objects. This is also an empty list that will consist of Airplanes that are departed.
- * 
- * Everytime an airplane is departed, it gets added to logs and departedFlights. ObservableList is important so that we can link this to ListView which can make this list
- * visible to the users in a user-friendly way.
+/* ScheduleView is the GUI's copy of the Report. It is the FlightListener that the GUI registers with FlightEvents.
+ * The GUI doesn't keep a copy of the whole schedule, which can have millions of airplanes. Every ListView of the schedule shows one page of it
+ * at a time through a SchedulePager.
+ * (ObservableList<Airplane>) departedFlights contains the departed airplanes. The ListViews in the report scene are linked to it.
+ * views remembers the FlightView of every airplane that was opened in the GUI.
+ *
+ * The events come from whichever thread changed the booking core (for bookings, a BookingService thread). Every method therefore does its work
+ * inside Platform.runLater so that the ObservableLists and properties are only ever changed on the Application thread of JavaFX.
+ * Just like Schedule and Report, everything is static because every window shares the same schedule.
  */
-class Report {
-    static Stack<Airplane> logs = new Stack<>();
+class ScheduleView implements FlightListener {
     static ObservableList<Airplane> departedFlights = FXCollections.observableArrayList();
-    /* We also a static generic function isPresent which checks if a T element is present in a Stack<T> stack. It has a boolean variable set to false
-     * initially. It loops through the stack and anytime it finds an element, the boolean variable is set to true and breaks from the loop. The value of
-     * the boolean variable is then returned at last. If it is present, value will be true. Else, it will be false.
+    private static Map<Airplane, FlightView> views = new HashMap<>();
+
+    /* install registers the listener FIRST and then copies the current report. An event that comes in between is only applied later
+     * by Platform.runLater, so we check for duplicates before adding. install must be called on the Application thread of JavaFX.
+     * The copy is made holding the lock of the Report, because the DepartureScheduler may be changing it at the same time.
      */
-    static <T> boolean isPresent(Stack<T> stack, T element) {
-        boolean present = false;
-        for (int i = 0; i <= stack.top; i++) {
-            if (stack.arr.get(i).equals(element)) {
-                present = true;
-                break;
-            }
+    static void install() {
+        FlightEvents.addListener(new ScheduleView());
+        synchronized (Report.class) {
+            departedFlights.setAll(Report.departedFlights);
         }
-        return(present);
     }
-    /* We have a static generic function countElement which counts the number of times T element appears in a Stack<T> stack. It loops through the stack.
-    Everytime it gets a match element, the count element is incremented by one. The count is then returned at last. If it isn't present, it returns 0.
-    Else it will return a nonzero postiive number.
-     */
-    static <T> int countElement(Stack<T> stack, T element) {
-        int count = 0;
-        for (int i = 0; i <= stack.top; i++) {
-            if (stack.arr.get(i).equals(element)) {
-                count++;
-            }
+
+    /* of returns the FlightView of an airplane, making it the first time it is asked for. */
+    static FlightView of(Airplane airplane) {
+        FlightView view = views.get(airplane);
+        if (view == null) {
+            view = new FlightView(airplane);
+            views.put(airplane, view);
         }
-        return(count);
+        return (view);
     }
-    /* We have a static string function getFrequentDeparturePeriod() which returns the most frequent month Flights departed in. What it does is 
-     * check if the stack of Airplane (logs) is empty. If it is not empty, it makes new Stack<Integer> months_booked and unique_months. Stack<Integer>
-     * as we want a Stack of the month numbers 1/2/3/4../12. 
-     * Now we loop through logs stack and push every departure month + 1 (Reminder: Calendar.MONTH returns a month number from 0 to 11) into months_booked.
-     * If the departure month in question is not present in unique_months, we push it into unique_months. 
-     * 
-     * We now make an integer variable max_count and initiate it to 0 and a frequent_month = 0 (represents no month yet).
-     * We will now loop through the unique_months and count the number of times a month in unique_months appears in months_booked. If this count is 
-     * greater than the max_count, we equate max_count to this count and equate the frequent_month to this month. 
-     * 
-     * At last, we get the max_count to be the maximum number of times a month appears.
-     * We get frequent_month to be the month that appears the month.
-     * 
-     * We will then initiate a "month" variable to be set to blank string. 
-     * We will use a switch statement on the frequent_month. If the frequent_month is 1, we set "month" to January.. frequent_month 2, we set "month" to February.. etc
-     * We will then return the month variable at last. This is the month airplanes frequently departed in.
-     * 
-     * If the logs stack is empty, it returns an empty string.
-    */
-    static String getFrequentDeparturePeriod() {
-        if (logs.top != -1) {
-            Stack<Integer> months_booked = new Stack<>();
-            Stack<Integer> unique_months = new Stack<>();
-            for (int i = 0; i <= logs.top; i++) {
-                months_booked.push(logs.arr.get(i).departure.get(Calendar.MONTH) + 1);
-                if (!isPresent(unique_months, logs.arr.get(i).departure.get(Calendar.MONTH) + 1)) {
-                    unique_months.push(logs.arr.get(i).departure.get(Calendar.MONTH) + 1);
-                }
-            }
-            int max_count = 0;
-            int frequent_month = 0;
-            for (int i = 0; i <= unique_months.top; i++) {
-                int count = countElement(months_booked, unique_months.arr.get(i));
-                if (count > max_count) {
-                    max_count = count;
-                    frequent_month = unique_months.arr.get(i);
+
+    public void flightDeparted(Airplane airplane) {
+        Platform.runLater(new Runnable() {
+            public void run() {
+                if (!departedFlights.contains(airplane)) {
+                    departedFlights.add(airplane);
                 }
             }
-            String month = "";
-            switch (frequent_month) {
-                case 1:
-                    month = "January";
-                    break;
-                case 2:
-                    month = "February";
-                    break;
-                case 3:
-                    month = "March";
-                    break;
-                case 4:
-                    month = "April";
-                    break;
-                case 5:
-                    month = "May";
-                    break;
-                case 6:
-                    month = "June";
-                    break;
-                case 7:
-                    month = "July";
-                    break;
-                case 8:
-                    month = "August";
-                    break;
-                case 9:
-                    month = "September";
-                    break;
-                case 10:
-                    month = "October";
-                    break;
-                case 11:
-                    month = "November";
-                    break;
-                case 12:
-                    month = "December";
-                    break;
-            }
-            return(month);
-        } else {
-            return("");
-        }
+        });
     }
-    /* We have a static string function getFrequentBookingMonth() which returns the most frequent month Flights were booked in. What it does is 
-     * check if the stack of Airplane (logs) is empty. If it is not empty, it makes new Stack<Integer> booking_months and unique_months. Stack<Integer>
-     * as we want a Stack of the month numbers 1/2/3/4../12. 
-     * Now we loop through seats of every airplane in the logs and push the booking_time month + 1 (Reminder: Calendar.MONTH returns a month number from 0 to 11) into booking_months.
-     * If the booking month in question is not present in unique_months, we push it into unique_months. 
-     * 
-     * We now make an integer variable max_count and initiate it to 0 and a frequent_month = 0 (represents no month yet).
-     * We will now loop through the unique_months and count the number of times a month in unique_months appears in months_booked. If this count is 
-     * greater than the max_count, we equate max_count to this count and equate the frequent_month to this month. 
-     * 
-     * At last, we get the max_count to be the maximum number of times a month appears.
-     * We get frequent_month to be the month that appears the month.
-     * 
-     * We will then initiate a "month" variable to be set to blank string. 
-     * We will use a switch statement on the frequent_month. If the frequent_month is 1, we set "month" to January.. frequent_month 2, we set "month" to February.. etc
-     * We will then return the month variable at last. This is the month airplanes were frequently booked in.
-     * 
-     * If the logs stack is empty, it returns an empty string.
-    */
-    static String getFrequentBookingMonth() {
-        if (logs.top != -1) {
-            Stack<Integer> booking_months = new Stack<>();
-            Stack<Integer> unique_months = new Stack<>();
-            for (int i = 0; i <= logs.top; i++) {
-                for (int j = 0; j < logs.arr.get(i).seats.length; j++) {
-                    if (logs.arr.get(i).seats[j].booked.getValue() == true) {
-                        booking_months.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.MONTH) + 1);
-                        if (!isPresent(unique_months, logs.arr.get(i).seats[j].booking_time.get(Calendar.MONTH) + 1)) {
-                            unique_months.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.MONTH) + 1);
-                        }
-                    }
-                }
-            }
-            int max_count = 0;
-            int frequent_month = 0;
-            for (int i = 0; i <= unique_months.top; i++) {
-                int count = countElement(booking_months, unique_months.arr.get(i));
-                if (count > max_count) {
-                    max_count = count;
-                    frequent_month = unique_months.arr.get(i);
+
+    public void seatBooked(Airplane airplane, Seat seat) {
+        Platform.runLater(new Runnable() {
+            public void run() {
+                FlightView view = views.get(airplane);
+                if (view != null) {
+                    view.booked[seat.position].set(true);
+                    view.bookedSeats.set(airplane.countBooked());
                 }
             }
-            String month = "";
-            switch (frequent_month) {
-                case 1:
-                    month = "January";
-                    break;
-                case 2:
-                    month = "February";
-                    break;
-                case 3:
-                    month = "March";
-                    break;
-                case 4:
-                    month = "April";
-                    break;
-                case 5:
-                    month = "May";
-                    break;
-                case 6:
-                    month = "June";
-                    break;
-                case 7:
-                    month = "July";
-                    break;
-                case 8:
-                    month = "August";
-                    break;
-                case 9:
-                    month = "September";
-                    break;
-                case 10:
-                    month = "October";
-                    break;
-                case 11:
-                    month = "November";
-                    break;
-                case 12:
-                    month = "December";
-                    break;
-            }
-            return(month);
-        } else {
-            return("");
-        }
+        });
     }
 
-    /* getFrequentBookingYear works the same as getFrequentBookingMonth but here we get Calendar.YEAR without adding any 1. This is because we get the
-     * year as it is, e.g if it is the year 2024, we get the year 2024. There's no changes needed.
-     */
-    static String getFrequentBookingYear() {
-        if (logs.top != -1) {
-            Stack<Integer> booking_years = new Stack<>();
-            Stack<Integer> unique_years = new Stack<>();
-            for (int i = 0; i <= logs.top; i++) {
-                for (int j = 0; j < logs.arr.get(i).seats.length; j++) {
-                    if (logs.arr.get(i).seats[j].booked.getValue() == true) {
-                        booking_years.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.YEAR));
-                        if (!isPresent(unique_years, logs.arr.get(i).seats[j].booking_time.get(Calendar.YEAR))) {
-                            unique_years.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.YEAR));
-                        }
-                    }
+    /* A held seat is disabled just like a booked one. It only counts as booked once its hold is confirmed, then seatBooked is called for it. */
+    public void seatHeld(Airplane airplane, Seat seat) {
+        Platform.runLater(new Runnable() {
+            public void run() {
+                FlightView view = views.get(airplane);
+                if (view != null) {
+                    view.booked[seat.position].set(true);
                 }
             }
-            int max_count = 0;
-            int frequent_year = 0;
-            for (int i = 0; i <= unique_years.top; i++) {
-                int count = countElement(booking_years, unique_years.arr.get(i));
-                if (count > max_count) {
-                    max_count = count;
-                    frequent_year = unique_years.arr.get(i);
-                }
-            }
-            return(frequent_year + "");
-        } else {
-            return("");
-        }
+        });
     }
 
-    /* getFrequentBookingYear works the same as getFrequentBookingMonth but here we don't subtract Calendar.DAY_OF_WEEK by 1. If it is Monday, we get Day 2
-    Day 3 - Tuesday, etc. We leave it unchanged
-     */
-    static String getFrequentBookingDay() {
-        if (logs.top != -1) {
-            Stack<Integer> booking_days = new Stack<>();
-            Stack<Integer> unique_days = new Stack<>();
-            for (int i = 0; i <= logs.top; i++) {
-                for (int j = 0; j < logs.arr.get(i).seats.length; j++) {
-                    if (logs.arr.get(i).seats[j].booked.getValue() == true) {
-                        booking_days.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.DAY_OF_WEEK));
-                        if (!isPresent(unique_days, logs.arr.get(i).seats[j].booking_time.get(Calendar.DAY_OF_WEEK))) {
-                            unique_days.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.DAY_OF_WEEK));
-                        }
-                    }
-                }
-            }
-            int max_count = 0;
-            int frequent_days = 0;
-            for (int i = 0; i <= unique_days.top; i++) {
-                int count = countElement(booking_days, unique_days.arr.get(i));
-                if (count > max_count) {
-                    max_count = count;
-                    frequent_days = unique_days.arr.get(i);
+    /* When a hold is released or expires, or a booked seat is cancelled, the seat can be booked again so its ToggleButton is enabled again. */
+    public void seatReleased(Airplane airplane, Seat seat) {
+        Platform.runLater(new Runnable() {
+            public void run() {
+                FlightView view = views.get(airplane);
+                if (view != null) {
+                    view.booked[seat.position].set(airplane.inventory.isTaken(seat.position));
+                    view.bookedSeats.set(airplane.countBooked());
                 }
             }
-            String day = "";
-            switch (frequent_days) {
-                case 1:
-                    day = "Sunday";
-                    break;
-                case 2:
-                    day = "Monday";
-                    break;
-                case 3:
-                    day = "Tuesday";
-                    break;
-                case 4:
-                    day = "Wednesday";
-                    break;
-                case 5:
-                    day = "Thursday";
-                    break;
-                case 6:
-                    day = "Friday";
-                    break;
-                case 7:
-                    day = "Saturday";
-                    break;
-            }
-            return(day);
-        } else {
-            return("");
-        }
+        });
     }
-    /* We have a static string function getFrequentDestination() which returns the most frequent destinations Flights were headed to. What it does is 
-     * check if the stack of Airplane (logs) is empty. If it is not empty, it makes new Stack<String> destinations_booked and unique_destinations. Stack<String>
-     * as we want a Stack of the destinations like Bangalore, Goa, Mumbai, etc. 
-     * Now we loop through the logs and push the destination of the airplane to destinations_booked
-     * If the destination in question is not present in unique_destinations, we push it into unique_destinations. 
-     * 
-     * We now make an integer variable max_count and initiate it to 0 and a frequent_destination = "" (represents no destination yet).
-     * We will now loop through the unique_destinations and count the number of times a month in unique_destinations appears in destinations_booked. If this count is 
-     * greater than the max_count, we equate max_count to this count and equate the frequent_destination to this month. 
-     * 
-     * At last, we get the max_count to be the maximum number of times a destination appears.
-     * We get frequent_destination to be the destination that appears the month.
-     * 
-     * We will then return the frequent_destination.
-     * If the logs stack is empty, it returns an empty string.
-    */
-    static String getFrequentDestination() {
-        if (logs.top != -1) {
-            Stack<String> destinations_booked = new Stack<>();
-            Stack<String> unique_destinations = new Stack<>();
-            for (int i = 0; i <= logs.top; i++) {
-                destinations_booked.push(logs.arr.get(i).destination);
-                if (!isPresent(unique_destinations, logs.arr.get(i).destination)) {
-                    unique_destinations.push(logs.arr.get(i).destination);
-                }
-            }
-            int max_count = 0;
-            String frequent_destination = "";
-            for (int i = 0; i <= unique_destinations.top; i++) {
-                int count = countElement(destinations_booked, unique_destinations.arr.get(i));
-                if (count > max_count) {
-                    max_count = count;
-                    frequent_destination = unique_destinations.arr.get(i);
+
+    public void priceChanged(Airplane airplane, double seatPrice) {
+        Platform.runLater(new Runnable() {
+            public void run() {
+                FlightView view = views.get(airplane);
+                if (view != null) {
+                    view.seatPrice.set(airplane.seatPrice());
                 }
             }
-            return(frequent_destination);
-        } else {
-            return("");
-        }
-    }
-}
-
-/* We will now make a Thread that calls the book(traveller) function. Everytime a booking request is made, a thread is made that calls .book(traveller)
- * Since this class Request is implementing a Runnable, we will link a Traveller object to it, a Seat object to it, a Thread linked to it and an
- * integer variable 'success' to it which represents if the booking was successful or not.
- * 
- * When we call the Request constructor passing it a traveller object and a seat object, we equate the traveller object of the class to this and 
- * the seat object of the class to the one passed. We will also initially set the success to 0 as no booking is made as of yet. We will also make a new
- * thread that uses the Request reference and the name of the thread being the name of the passenger.
- * 
- * What does this thread do? We write this implementation in the run function. Everytime a booking request is made, we call this Request constructor
- * which makes a thread. This thread calls the book(traveller) function of the seat class and we store the result of it in the success variable.
- * If the booking is successful, success is 1. If the booking is unsuccessful (Reminder: book() is a synchronized function. Only one thread can be successful when booking a seat)
- * the success variable is 0..
- */
-class Request implements Runnable {
-    Traveller traveller;
-    Seat seatObj;
-    Thread thread;
-    int success;
-
-    Request(Traveller traveller, Seat seatObj) {
-        this.traveller = traveller;
-        this.success = 0;
-        this.seatObj = seatObj;
-        this.thread = new Thread(this, traveller.getPassengerName());
-        this.thread.start();
-    }
-
-    public void run() {
-        this.success = seatObj.book(traveller);
-    }
-}
-
-/* Schedule class again consists of elements that keeps a record of all the airplanes that are yet to depart. Every traveller, manager has access
- * to the SAME Schedule and thus we make every element in the Schedule class STATIC. Any change made to this schedule is reflected to every traveller and manager.
- */
-/* It consists of the ObservableList scheduleList which consists of string representations of every Airplane yet to depart (Reminder: we override toString() of each Airplane)
- * Initially this is made empty as we haven't added any airplane as of yet (but we could hard code airplanes into it.)
- * It consists of the ObservableList schedule which consists of Airplane objects that are yet to depart. Initially it is made empty as we haven't added any airplane as of yet.
- * We then have a top static variable which represents the topmost index of scheduleList and schedule. (Remember: scheduleList consists of string representation of airplanes in schedule, they will be of same length)
- */
-class Schedule {
-    static ObservableList<String> scheduleList = FXCollections.observableArrayList();
-    static ObservableList<Airplane> schedule = FXCollections.observableArrayList();
-    static int top = -1;
-    /* Here we hard-code some Airplane to the schedule from the start, as required. This is the BoeingC757, MH200 and A350 flights. We
-     * make three traveller objects and link them to the 3 airplanes. We then book tickets under each Passenger for each flight to hard-code some
-     * flights that were booked.
-     */
-    static {
-        Traveller boeingPassenger = new Traveller("Boeing Passenger");
-        Manager.addEntry("BoeingC757", "International", 6, 1000.0, "NYC", "Hong Kong", 30, 10, 10, 12, 2024, 30, 11, 10, 12, 2024);
-        Airplane BoeingC757 = schedule.get(Manager.searchEntry("BoeingC757"));
-        boeingPassenger.airplane = BoeingC757;
-        boeingPassenger.bookSeats(BoeingC757.seats[0]);
-        boeingPassenger.bookSeats(BoeingC757.seats[1]);
-        boeingPassenger.bookSeats(BoeingC757.seats[2]);
-        boeingPassenger.bookSeats(BoeingC757.seats[3]);
-        boeingPassenger.bookSeats(BoeingC757.seats[4]);
-        boeingPassenger.bookSeats(BoeingC757.seats[5]);
-        Traveller MH200Passenger = new Traveller("MH200 Passenger");
-        Manager.addEntry("MH200", "International", 20, 1500.0, "Sydney", "Delhi", 45, 11, 10, 11, 2024, 50, 11, 10, 11, 2024);
-        Airplane MH200 = schedule.get(Manager.searchEntry("MH200"));
-        MH200Passenger.airplane = MH200;
-        MH200Passenger.bookSeats(MH200.seats[0]);
-        MH200Passenger.bookSeats(MH200.seats[1]);
-        Traveller A350Passenger = new Traveller("A350 Passenger");
-        Manager.addEntry("A350", "Domestic", 15, 1000.0, "Delhi", "Bangalore", 05, 9, 7, 12, 2024, 30, 9, 7, 12, 2024);
-        Airplane A350 = schedule.get(Manager.searchEntry("A350"));
-        A350Passenger.airplane = A350;
-        A350Passenger.bookSeats(A350.seats[0]);
-        A350Passenger.bookSeats(A350.seats[1]);
-        A350Passenger.bookSeats(A350.seats[2]);
+        });
     }
 }
 
-/* We have a class Traveller. In this program, every traveller is represented by an object. This traveller extends Schedule as we want the traveller
- * to have access to the schedule of Airplanes that are yet to depart so that the traveller can book tickets.
- * It consists of ObservableList of strings, seats_booked. It will contain information of every seat the traveller has booked and the cost of each seat.
- * We have made it an ObservableList so that we can display it as a ListView in the invoice section.
- * It consists of ObservableList of strings, addons_booked. It will contain information of every addon the traveller has purchased and the cost of each addon.
- * We have made it an ObservableList so that we can display it as a ListView in the invoice section.
- * 
- * It also contains a private attribute passenger_name representing the name of the passenger. We have made it private so that no other class has access to it.
- * No other class can modify this passenger_name.
- * 
- * We have an Airplane object associated to the traveller. Everytime a traveller tries booking an airplane, the airplane object of this traveller is linked to the airplane the traveller 
- * wants to book.
- * By default, the Airplane reference of the traveller is set to null as the traveller hasn't booked any ticket.
- * 
- * We have a totalCost double variable that will reflect the total amount spent by the traveller on seats + addons.
+/* SchedulePager shows the schedule in a ListView one page at a time. The ListView is linked to 'items', which only ever has the PAGE_SIZE airplanes
+ * of the current page, so a schedule of a million airplanes is never loaded into (or drawn by) the ListView.
+ * The pages are asked for from a FlightOrder of Schedule.query (by departure, price or load factor). Each page starts after the last airplane of the page
+ * before it. starts remembers where every page we went through started (null for the first page), so previous can go back.
+ * atFirstPage and atLastPage can be binded to the disableProperty of the Previous and Next buttons.
+ * Every method must be called on the Application thread of JavaFX.
  */
-
-class Traveller extends Schedule {
-    ObservableList<String> seats_booked;
-    ObservableList<String> addons_booked;
-    private String passenger_name;
-    Airplane airplane;
-    double totalCost;
-
-    /* We make a function getPassengerName that returns the name of the passenger. This is so other classes can get the name of the passenger.
-     * Other classes can get the passenger_name but cannot modify it!
-     */
-    String getPassengerName() {
-        return (passenger_name);
+class SchedulePager {
+    static final int PAGE_SIZE = 50;
+    final ObservableList<Airplane> items = FXCollections.observableArrayList();
+    final BooleanProperty atFirstPage = new SimpleBooleanProperty(true);
+    final BooleanProperty atLastPage = new SimpleBooleanProperty(true);
+    private FlightOrder order;
+    private final List<FlightOrder.Entry> starts = new ArrayList<>();
+    private FlightPage page;
+
+    SchedulePager(FlightOrder order) {
+        setOrder(order);
     }
 
-    /* We make a constructor Traveller and pass the name of the passenger to it. We then link the passenger_name to this name. We initially
-     * set the airplane to null as the traveller has not booked any tickets. seats_booked and addons_booked is set to empty lists as the traveller
-     * has not booked any seats or addons respectively. The totalCost is set to 0 as the traveller has not booked anything.
-     */
-
-    Traveller(String passenger_name) {
-        this.passenger_name = passenger_name;
-        this.airplane = null;
-        this.seats_booked = FXCollections.observableArrayList();
-        this.addons_booked = FXCollections.observableArrayList();
-        this.totalCost = 0;
+    /* setOrder sorts the schedule another way and goes back to the first page. */
+    void setOrder(FlightOrder order) {
+        this.order = order;
+        starts.clear();
+        starts.add(null);
+        refresh();
     }
 
-    /* We also have a bookSeats function which takes any seat object as parameter. Everytime a seat booking request is made by a traveller, 
-     * a new thread is made by using the Request constructor (Reminder: Request implements Runnable). Each thread linked to the Request class calls
-     * the synchronized book function. We access this thread using req.thread; 
-     */
-
-     /* Once the booking request is made, we WAIT for the thread to finish executing! We don't want to keep continuing with our program while the
-      * booking request is still processing.. Hence we call requestThread.join(). This allows us to wait for the requestThread to stop executing 
-      * so that we can proceed ahead with the program. Every .join() function calls an InterruptedException that must be handled as it is an unchecked
-      * unchecked exception. Now we store the success of booking in the wasBookingSuccessful variable. If the wasBookingSuccessful is 1, it means
-      * seat was successfully booked. Now what we do is increase the price of the seatPrice in Airplane by 10% and equate the price of each unbooked
-      * seat in the airplane to the seatPrice of the airplane.
-      */
-    int bookSeats(Seat seatObj) {
-        Request req = new Request(this, seatObj);
-        Thread requestThread = req.thread;
-        int wasBookingSuccessful = 0;
-        try {
-            requestThread.join();
-            wasBookingSuccessful = req.success;
-            if (wasBookingSuccessful == 1) {
-                /* Reminder: We cannot .set() DoubleProperty in threads that are NOT Application thread of JavaFX. It is unsafe. 
-                 * .set() for DoubleProperty or IntegerProperty etc, is a method reserved for JavaFX. Since we're trying to do this outside the 
-                 * Application thread of JavaFX, we will do Platform.runLater() and create a Runnable reference in it which runs the code for us.
-                 * This will execute the body of code in the run() statement in the Application thread of JavaFX, thus making it safe.
-                 */
-
-/* Traveller.this inside an Anonymous Inner class refers to the traveller object where the Anonymous inner class is made. */
-                Platform.runLater(new Runnable() {
-                    public void run() {
-                       Traveller.this.airplane.seatPrice.set(Traveller.this.airplane.seatPrice.get() * 1.1);
-                       for (int i = 0; i < Traveller.this.airplane.seats.length; i++) {
-                            if (Traveller.this.airplane.seats[i].booked.get() == true) {
-                                Traveller.this.airplane.seats[i].seatPrice = Traveller.this.airplane.seatPrice.get();
-                            }
-                       }
-                    }
-                });
-            }
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        return(wasBookingSuccessful);
+    /* refresh asks for the current page again, so it shows new airplanes and the new number of booked seats of each airplane. */
+    void refresh() {
+        page = order.page(starts.get(starts.size() - 1), PAGE_SIZE);
+        items.setAll(page.airplanes);
+        atFirstPage.set(starts.size() == 1);
+        atLastPage.set(!page.hasNext);
     }
-}
 
-
-/* We have a class Manager that represents a manager. Every entry in this Manager is made static because we want only one manager to exist in the system.
-The manager has the ability to search through a schedule for an airplane name, delete an airplane from the schedule, set any airplane from the schedule as departed
-add an airplane into the schedule. It extends Schedule as it has access to the Schedule elements like the 
-*/
-class Manager extends Schedule {
-    /* searchEntry is an integer function. It takes an airplane name as parameter. It then loops through the ObservableList schedule which is a
-     * list of Airplane objects that are yet to depart. It checks if the lowercase of each schedule object is equal to the lowercase of the airplane 
-     * name to be found. This is to remove dependency on the case sensitivity of the airplane name when searching for it.
-     * If it is found, the index which was initially set to -1 before the loop is set to the index of the airplane found and the loop is broken.
-     * The index is then returned at last. If it returns -1, the airplane is not found in the schedule. If it does not, the airplane is found in the
-     * schedule. 
-     */
-    static int searchEntry(String airplane_name) {
-        int index = -1;
-        for (int i = 0; i <= top; i++) {
-            if (schedule.get(i).name.toLowerCase().equals(airplane_name.toLowerCase())) {
-                index = i;
-                break;
-            }
+    void next() {
+        if (page.hasNext) {
+            starts.add(page.last);
+            refresh();
         }
-        return (index);
     }
 
-    /* deleteEntry is a boolean function that takes any airplane_name. First we initiate a success variable to false. We check if the schedule is empty
-     * or not. If the schedule is not empty, we search for the airplane name in the schedule. If the airplane is found (index is not equal to -1), 
-     * we remove the element of that index from the schedule observableList using the .remove(index) command of the ObservableList.
-     * We also correspondingly remove the element of that index from Schedule.scheduleList (Reminder: it consists of string representation of the airplanes in schedule).
-     * We then decrement the top-- to show that the top index is now one less. We then set the success variable to true.
-     * We then return the success variable at last. If success is true, element has been deleted. If success is false, element has not been deleted either 
-     * because the schedule is empty or the element was not found.
-     */
-    static boolean deleteEntry(String airplane_name) {
-        boolean success = false;
-        if (top != -1) {
-            int index = searchEntry(airplane_name);
-            if (index != -1) {
-                schedule.remove(index);
-                Schedule.scheduleList.remove(index);
-                top--;
-                success = true;
-            }
-        }
-        return (success);
-    }
-    /* setDeparted is a boolean function that takes any airplane. First we initiate a success variable to false. We check if the schedule is empty or not.
-     * If the schedule is not empty, we search for the airplane name in the schedule. If the airplane is found (index is not equal to -1), we make an
-     * Airplane reference and set it to the found Airplane element in the schedule using its index and the .get(index) function of the ObservableList.
-     * The departed of that Airplane reference is set to true to depict that the airplane has departed.
-     * The airplane is then deleted from the schedule as it has departed. We will then push this airplane object to the Report.logs (Reminder: it consists of all airplanes
-     * that have departed). We will also add this airplane object to the ObservableList Report.departedFlights using the .add(data) function of the ObservableList
-     * (Reminder: we also have it as an ObservableList so that we can display it as a ListView in the JavaFX application thread)
-     * We will check if the Airplane reference is fully booked, if it is fully booked, we add it to the Report.bookedDeparted ObservableList 
-     * We then set the success variable to true
-     * We then return the success variable at last.
-     * If the success value returned by setDeparted is true, the depart process is successful and the airplane was departed.
-     * If the success value returned by setDeparted is false, the depart process was unsuccessful either because the airplane was not found in the
-     * schedule or if the schedule was empty.
-     */
-    static boolean setDeparted(String airplane_name) {
-        boolean success = false;
-        if (top != -1) {
-            int index = searchEntry(airplane_name);
-            if (index != -1) {
-                Airplane reference = schedule.get(index);
-                reference.departed = true;
-                deleteEntry(airplane_name);
-                Report.logs.push(reference);
-                Report.departedFlights.add(reference);
-                success = true;
-            }
+    void previous() {
+        if (starts.size() > 1) {
+            starts.remove(starts.size() - 1);
+            refresh();
         }
-        return (success);
-    }
-    /* addEntry is a function that is used by the manager to add entries to the schedule. It takes the following parameters */
-    static void addEntry(String name, String type, int seat_capacity, double seatPrice, String origin,
-            String destination, int arrival_minute, int arrival_hour, int arrival_day, int arrival_month,
-            int arrival_year, int departure_minute, int departure_hour, int departure_day, int departure_month,
-            int departure_year) {
-        /* First we construct an Airplane object using the parameters provided. We then increment top by one and then add this airplane object
-         * to the schedule ObservableList (Reminder: it is a an ObservableList of Airplane objects in the schedule)
-         * We also correspondingly add the string representation of that airplane to the scheduleList ObservableList (Reminder: It is an ObservableList
-         * of String in the schedule)
-         */
-        Airplane reference = new Airplane(name, type, seat_capacity, seatPrice, origin, destination, arrival_minute,
-                arrival_hour, arrival_day, arrival_month, arrival_year, departure_minute, departure_hour, departure_day,
-                departure_month, departure_year);
-        top = top + 1;
-        schedule.add(reference);
-        Schedule.scheduleList.add(reference.toString());
     }
 }
+
 /* To demonstrate Concurrent requests, we make a new thread that represents another traveller. We implement Runnable.
  * We give the attribute traveller object which represents the traveller linked to the thread. We give the attribute Airplane object which represents
  * the airplane where traveller is booking seats at. We also have a Thread reference which represents the thread of the other traveller.
@@ -915,7 +270,7 @@ class concurrentTraveller implements Runnable {
         traveller = new Traveller("Traveller 2");
         traveller.airplane = toBookAirplane;
         System.out.println("Demo Traveller is now booking seats in airplane: " + traveller.airplane.name);
-        if (traveller.airplane.seats.length == traveller.airplane.countBooked()) {
+        if (traveller.airplane.isFull()) {
             System.out.print("Airplane is fully booked.");
         } else {
             do {
@@ -931,7 +286,7 @@ class concurrentTraveller implements Runnable {
                 } else {
                     System.out.println("Seat " + seatPos + " has already been booked.");
                 }
-            } while (traveller.airplane.seats.length != traveller.airplane.countBooked());
+            } while (!traveller.airplane.isFull());
         }
     }
     /* You can call the concurrentTraveller constructor and pass any airplane parameter. The airplane reference of the object is set to this parameter
@@ -946,6 +301,13 @@ class concurrentTraveller implements Runnable {
 
 /* This is the application thread where the stage, scenes will be made for the JavaFX application. */
 public class Demo extends Application {
+    /* SEARCH_LIMIT is the most airplanes the Search of the schedule scene shows at once. */
+    private static final int SEARCH_LIMIT = 500;
+    /* CONNECTION_MAX_LAYOVER is the longest wait between two airplanes of a journey found by the Connections button. The hard-coded airplanes are
+     * weeks apart (MH200 lands in Delhi almost 27 days before A350 leaves for Bangalore), so it is longer than the day of ConnectionSearch.
+     */
+    private static final long CONNECTION_MAX_LAYOVER = 30 * 24 * 60 * 60 * 1000L;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd-MM-uuuu HH:mm").withResolverStyle(ResolverStyle.STRICT);
     private Traveller traveller;
     /* The Demo class also has the traveller object linked to it which represents the main traveller (YOU). */
     public static void main(String[] args) {
@@ -959,6 +321,10 @@ public class Demo extends Application {
          * 
          */
         ps.setTitle("Airline Reservation System");
+        /* Before any window is opened, the GUI starts listening to the booking core and copies the current report. */
+        ScheduleView.install();
+        /* The DepartureScheduler starts departing airplanes (only if it was turned on). start sets up the schedule first if it isn't set up yet. */
+        DepartureScheduler.start();
         GridPane gp = new GridPane();
         gp.setAlignment(Pos.CENTER);
         Scene sc = new Scene(gp, 400, 300);
@@ -1010,14 +376,17 @@ public class Demo extends Application {
         titleLabel.setLayoutY(6);
         titleLabel.setFont(Font.font("System Bold", 16));
         
-        /* We have a ListView JavaFX element which is assigned to the ObservableList<Airplane> Schedule.schedule
+        /* We have a ListView JavaFX element which is assigned to the items of a SchedulePager. It shows one page of the schedule at a time,
+         * sorted by departure time. The < and > buttons go to the previous and next page.
          * This makes it so that we can view the Airplane objects in the scrollable list in the Delete scene.
          * The ListView automatically displays the string representation of the Airplane object.
         */
-        ListView<Airplane> listView = new ListView<>(Schedule.schedule);
+        SchedulePager pager = new SchedulePager(Schedule.query.byDeparture);
+        ListView<Airplane> listView = new ListView<>(pager.items);
         listView.setLayoutX(17);
         listView.setLayoutY(48);
         listView.setPrefSize(322, 112);
+        Button[] pageButtons = pageButtons(pager, 250, 175);
 
         Label scheduleLabel = new Label("Schedule");
         scheduleLabel.setLayoutX(17);
@@ -1061,19 +430,19 @@ public class Demo extends Application {
          * to the scene and make all these elements visible.
          */
         apDelete.getChildren().addAll(titleLabel, listView, scheduleLabel, flightNameLabel, flightNameField, placeholderLabel, backButton, deleteButton, updateButton);
+        apDelete.getChildren().addAll(pageButtons);
 
         Scene scene = new Scene(apDelete);
         primaryStage.setScene(scene);
         /* We will then set the primaryStage passed in the parameter to this scene. */
 
-        /* When we press the update Button, the listView is first set to an empty ObservableList. The listView is then set back to the Schedule.schedule 
-         * ObservableList<Airplane> which will help update the listView and show us updated number of booked seats, updated elements, etc.
+        /* When we press the update Button, the pager asks for the page it is on again. This will help update the listView and show us updated
+         * number of booked seats, updated elements, etc. Only the airplanes of that one page are fetched.
          * The flightNameField TextField is cleared so you are free to input a new airplane name. 
          */
         updateButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent ae) {
-                listView.setItems(FXCollections.observableArrayList());
-                listView.setItems(Schedule.schedule);
+                pager.refresh();
                 flightNameField.clear();
             }
         });
@@ -1144,15 +513,25 @@ public class Demo extends Application {
         costLabel.setFont(new Font("System Bold", 12));
 
         /* totalCostLabel will be initially set to the totalCost of the traveller (totalCost accounting for all the amount spent by traveller on seats)
+         * plus the heldCost (the seats the traveller is holding, which are only paid for when Purchase is pressed).
          * If we set it to traveller.totalCost alone, the number shown in the totalCostLabel would have 5-6 decimal places which would be inconvenient.
          * If we do String.format("%.2f", traveller.totalCost), we are formatting the totalCost of traveller to show only 2 decimal places.
          */
-        Label totalCostLabel = new Label(String.format("%.2f", traveller.totalCost));
+        Label totalCostLabel = new Label(String.format("%.2f", traveller.totalCost + traveller.heldCost()));
         totalCostLabel.setLayoutX(85);
         totalCostLabel.setLayoutY(159);
 
+        /* holdStatusLabel reminds the traveller that the held seats are only kept for a while. It also tells the traveller if a hold ran out. */
+        Label holdStatusLabel = new Label();
+        holdStatusLabel.setLayoutX(14);
+        holdStatusLabel.setLayoutY(180);
+        holdStatusLabel.setPrefSize(180, 17);
+        if (traveller.hasHolds()) {
+            holdStatusLabel.setText("Seats held for " + HoldManager.CHECKOUT_TTL_MILLIS / 60000 + " minutes.");
+        }
+
         apAddon.getChildren().addAll(titleLabel, wifiCheckBox, loungeCheckBox, cateringCheckBox, luggageCheckBox,
-                                  purchaseButton, costLabel, totalCostLabel);
+                                  purchaseButton, costLabel, totalCostLabel, holdStatusLabel);
 
         Scene scene = new Scene(apAddon);
         primaryStage.setScene(scene);
@@ -1232,7 +611,11 @@ public class Demo extends Application {
                 }
             }
         });
-        /* When we press the purchaseButton, we check if each checkBox is selected individually. If wifiCheckBox is selected, we 
+        /* When we press the purchaseButton, we first confirm the seats the traveller is holding. They are paid for at the price they were held at.
+         * If a hold had already run out, its seats went back to the airplane. We then uncheck the addons, show the new total and tell the traveller in
+         * holdStatusLabel instead of buying the addons. If the traveller has no booked seat left at all, the next Purchase goes back to the Dashboard.
+         *
+         * Then we check if each checkBox is selected individually. If wifiCheckBox is selected, we 
          * add "ADD_ON PURCHASED: WI-FI ACCESS | COST: 3000 | BOOKED UNDER: " + traveller's name to the addons_booked ObservableList in the traveller
          * class. 
          * We then add 3000.0 to the traveller's totalCost
@@ -1242,6 +625,22 @@ public class Demo extends Application {
          */
         purchaseButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent ae) {
+                int expired = traveller.confirmHolds();
+                if (expired > 0) {
+                    wifiCheckBox.setSelected(false);
+                    loungeCheckBox.setSelected(false);
+                    cateringCheckBox.setSelected(false);
+                    luggageCheckBox.setSelected(false);
+                    totalCostLabel.setText(String.format("%.2f", traveller.totalCost));
+                    holdStatusLabel.setText("Hold expired, seats were released.");
+                    return;
+                }
+                synchronized (traveller) {
+                    if (traveller.seats_booked.isEmpty()) {
+                        primaryStage.setScene(Dashboard);
+                        return;
+                    }
+                }
                 if (wifiCheckBox.isSelected()) {
                     traveller.addons_booked.add("ADD-ON PURCHASED: WI-FI ACCESS | COST: 3000 | BOOKED UNDER: " + traveller.getPassengerName());
                     traveller.totalCost = traveller.totalCost + 3000.0;
@@ -1296,18 +695,18 @@ public class Demo extends Application {
         fullyBookedFlightsLabel.setLayoutX(14.0);
         fullyBookedFlightsLabel.setLayoutY(254.0);
 
-        /* We have a ListView JavaFX element which is assigned to the ObservableList<Airplane> Report.departedFlights
+        /* We have a ListView JavaFX element which is assigned to the ObservableList<Airplane> ScheduleView.departedFlights
          * This makes it so that we can view the Airplane objects in the scrollable list in the Report scene.
          * Each cell in the ListView automatically displays the string representation of the Airplane object
         */
-        ListView<Airplane> departedFlightsList = new ListView<>(Report.departedFlights);
+        ListView<Airplane> departedFlightsList = new ListView<>(ScheduleView.departedFlights);
         departedFlightsList.setLayoutX(14.0);
         departedFlightsList.setLayoutY(51.0);
         departedFlightsList.setPrefHeight(124.0);
         departedFlightsList.setPrefWidth(470.0);
 
         /* We have a ListView JavaFX element that is assigned to an empty list. We will later assign it to a FilteredList that will filter only
-         * the fully booked flights from the Report.departedFlights
+         * the fully booked flights from the ScheduleView.departedFlights
          */
         ListView<Airplane> fullyBookedFlightsList = new ListView<>();
         fullyBookedFlightsList.setLayoutX(14.0);
@@ -1315,11 +714,11 @@ public class Demo extends Application {
         fullyBookedFlightsList.setPrefHeight(101.0);
         fullyBookedFlightsList.setPrefWidth(470.0);
 
-        /* We are making a FilteredList<Airplane> from the original ObservableList<Airplane> Report.departedFlights. It consists of only those 
-         * Airplane objects that return true when (i.countBooked() == i.seats.length) where i is any general Airplane object in Report.departedFlights
+        /* We are making a FilteredList<Airplane> from the original ObservableList<Airplane> ScheduleView.departedFlights. It consists of only those 
+         * Airplane objects that return true when (i.countBooked() == i.seats.length) where i is any general Airplane object in ScheduleView.departedFlights
          * Thus every fully booked flight satisfies this condition and is displayed in the FilteredList.
          */
-        FilteredList<Airplane> filteredListRef = new FilteredList<>(Report.departedFlights, i -> {
+        FilteredList<Airplane> filteredListRef = new FilteredList<>(ScheduleView.departedFlights, i -> {
             return(i.countBooked() == i.seats.length);
         });
 
@@ -1359,14 +758,14 @@ public class Demo extends Application {
             }
         });
 
-        /* When the updateButton is pressed. We set the departedFlightsList to an empty list and then set it back to the Report.departedFlights
-         * Any changes in Report.departedFlights will then be reflected (like number of booked seats, etc.)
+        /* When the updateButton is pressed. We set the departedFlightsList to an empty list and then set it back to the ScheduleView.departedFlights
+         * Any changes in ScheduleView.departedFlights will then be reflected (like number of booked seats, etc.)
          * The frequentDepPeriodData label also will be updated with the frequent departure period, same with frequentBookPeriodData and frequentDestData
          */
         updateButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent ae) {
                 departedFlightsList.setItems(FXCollections.observableArrayList());
-                departedFlightsList.setItems(Report.departedFlights);
+                departedFlightsList.setItems(ScheduleView.departedFlights);
                 frequentDepPeriodData.setText(Report.getFrequentDeparturePeriod());
                 frequentBookPeriodData.setText(Report.getFrequentBookingDay() + " | " + Report.getFrequentBookingMonth() + " | " + Report.getFrequentBookingYear());
                 frequentDestData.setText(Report.getFrequentDestination());
@@ -1418,15 +817,21 @@ public class Demo extends Application {
         totalAmountLabel.setLayoutX(99);
         totalAmountLabel.setLayoutY(202);
 
-        /* We will make a ListView<String> seatsListView. This will be set to the seats_booked ObservableList<String> of the traveller. 
+        /* We will make a ListView<String> seatsListView. This will be set to a copy of the seats_booked List<String> of the traveller. 
+        We copy it inside synchronized (traveller) as a BookingService thread might be adding a seat to it at the same time.
         */
-        ListView<String> seatsListView = new ListView<>(traveller.seats_booked);
+        ListView<String> seatsListView = new ListView<>();
+        List<Seat> shownSeats = new ArrayList<>();
+        synchronized (traveller) {
+            seatsListView.setItems(FXCollections.observableArrayList(traveller.seats_booked));
+            shownSeats.addAll(traveller.booked_seats);
+        }
         seatsListView.setLayoutX(14);
         seatsListView.setLayoutY(52);
         seatsListView.setPrefSize(373, 53);
-        /* We will make a ListView<String> addonsListView. This will be set to the addons_booked ObservableList<String> of the traveller.
+        /* We will make a ListView<String> addonsListView. This will be set to a copy of the addons_booked List<String> of the traveller.
         */
-        ListView<String> addonsListView = new ListView<>(traveller.addons_booked);
+        ListView<String> addonsListView = new ListView<>(FXCollections.observableArrayList(traveller.addons_booked));
         addonsListView.setLayoutX(14);
         addonsListView.setLayoutY(135);
         addonsListView.setPrefSize(373, 53);
@@ -1439,11 +844,21 @@ public class Demo extends Application {
         backButton.setLayoutX(288);
         backButton.setLayoutY(198);
 
+        /* The cancelButton cancels the seat picked in seatsListView. cancelStatusLabel shows what happened. */
+        Button cancelButton = new Button("Cancel Seat");
+        cancelButton.setLayoutX(200);
+        cancelButton.setLayoutY(198);
+
+        Label cancelStatusLabel = new Label();
+        cancelStatusLabel.setLayoutX(120);
+        cancelStatusLabel.setLayoutY(35);
+        cancelStatusLabel.setPrefSize(267, 17);
+
         apInvoice.getChildren().addAll(
             invoiceLabel, seatsBookedLabel, seatsListView,
             addonsPurchasedLabel, addonsListView,
             totalCostLabel, totalAmountLabel,
-            updateButton, backButton
+            updateButton, backButton, cancelButton, cancelStatusLabel
         );
 
         Scene scene = new Scene(apInvoice);
@@ -1457,11 +872,37 @@ public class Demo extends Application {
         });
 
         /* When the update button is pressed, the totalAmountLabel is updated with the totalCost of the traveller. We are formatting it to 
-         * 2 decimal places only.
+         * 2 decimal places only. The two ListViews are also refreshed with fresh copies of seats_booked and addons_booked.
          */
         updateButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent ae) {
-                totalAmountLabel.setText("₹" + String.format("%.2f", traveller.totalCost) + "");
+                synchronized (traveller) {
+                    seatsListView.setItems(FXCollections.observableArrayList(traveller.seats_booked));
+                    shownSeats.clear();
+                    shownSeats.addAll(traveller.booked_seats);
+                    totalAmountLabel.setText("₹" + String.format("%.2f", traveller.totalCost) + "");
+                }
+                addonsListView.setItems(FXCollections.observableArrayList(traveller.addons_booked));
+            }
+        });
+
+        /* When the cancel button is pressed, the seat of the line picked in seatsListView is found in shownSeats (the copy of booked_seats made
+         * together with the copy of seats_booked, so the same index is the same seat). traveller.cancelSeatAsync cancels it in the background.
+         * When it is done, the result is shown and the Update button is fired so the lists and the total are refreshed.
+         */
+        cancelButton.setOnAction(new EventHandler<ActionEvent>() {
+            public void handle(ActionEvent ae) {
+                int index = seatsListView.getSelectionModel().getSelectedIndex();
+                if (index < 0 || index >= shownSeats.size()) {
+                    cancelStatusLabel.setText("Pick a seat to cancel.");
+                    return;
+                }
+                traveller.cancelSeatAsync(shownSeats.get(index)).thenAccept(result -> Platform.runLater(new Runnable() {
+                    public void run() {
+                        cancelStatusLabel.setText(result.message);
+                        updateButton.fire();
+                    }
+                }));
             }
         });
     }
@@ -1475,18 +916,37 @@ public class Demo extends Application {
         apSchedule.setPrefHeight(358.0);
         apSchedule.setPrefWidth(679.0);
 
-        /* We will make a ListView<Airplane> mainListView. This will be set to the Schedule.schedule ObservableList<Airplane>. Each cell in this ListView
-        will automatically display the string form of the Airplane object.
+        /* We will make a ListView<Airplane> mainListView. This will be set to the items of a SchedulePager, which has one page of the schedule at a time.
+        Each cell in this ListView will automatically display the string form of the Airplane object. The sortComboBox chooses how the schedule
+        is sorted (see ScheduleQuery) and the < and > buttons go to the previous and next page.
         */
-        ListView<Airplane> mainListView = new ListView<>(Schedule.schedule);
+        SchedulePager pager = new SchedulePager(Schedule.query.byDeparture);
+        ListView<Airplane> mainListView = new ListView<>(pager.items);
         mainListView.setLayoutX(23.0);
         mainListView.setLayoutY(54.0);
         mainListView.setPrefHeight(268.0);
         mainListView.setPrefWidth(317.0);
+        Button[] pageButtons = pageButtons(pager, 23.0, 325.0);
+
+        ComboBox<String> sortComboBox = new ComboBox<>();
+        sortComboBox.setLayoutX(100.0);
+        sortComboBox.setLayoutY(325.0);
+        for (FlightOrder order : Schedule.query.orders()) {
+            sortComboBox.getItems().add(order.name);
+        }
+        sortComboBox.setValue(Schedule.query.byDeparture.name);
+        sortComboBox.setOnAction(new EventHandler<ActionEvent>() {
+            public void handle(ActionEvent ae) {
+                for (FlightOrder order : Schedule.query.orders()) {
+                    if (order.name.equals(sortComboBox.getValue())) {
+                        pager.setOrder(order);
+                    }
+                }
+            }
+        });
         
-        /* We will make a ListView<Airplane> secondaryListView. This will be set to an empty list. We will make a FilteredList<Airplane> later that
-        will contain a list of Airplane objects that have been filtered from the Schedule.schedule list using the searches the user has input. 
-        We will then set this secondaryListView to the FilteredList. 
+        /* We will make a ListView<Airplane> secondaryListView. This will be set to an empty list. When Search is pressed, it is set to the list
+        of Airplane objects that the routeIndex of the Schedule finds for the searches the user has input.
         */
         ListView<Airplane> secondaryListView = new ListView<>();
         secondaryListView.setLayoutX(362.0);
@@ -1494,6 +954,16 @@ public class Demo extends Application {
         secondaryListView.setPrefHeight(95.0);
         secondaryListView.setPrefWidth(282.0);
 
+        /* connectionListView is in the same place as the secondaryListView and shows the journeys found by the Connections button instead. Only one
+         * of the two is visible at a time.
+         */
+        ListView<Connection> connectionListView = new ListView<>();
+        connectionListView.setLayoutX(362.0);
+        connectionListView.setLayoutY(222.0);
+        connectionListView.setPrefHeight(95.0);
+        connectionListView.setPrefWidth(282.0);
+        connectionListView.setVisible(false);
+
         Label titleLabel = new Label("Schedule");
         titleLabel.setLayoutX(306.0);
         titleLabel.setLayoutY(6.0);
@@ -1517,41 +987,64 @@ public class Demo extends Application {
         destinationLabel.setPrefHeight(17.0);
         destinationLabel.setPrefWidth(64.0);
 
-        Label fromTimeLabel = new Label("From Time");
-        fromTimeLabel.setLayoutX(389.0);
-        fromTimeLabel.setLayoutY(128.0);
-        fromTimeLabel.setPrefSize(67.0, 17.0);
+        Label departsLabel = new Label("Departs");
+        departsLabel.setLayoutX(407.0);
+        departsLabel.setLayoutY(128.0);
+        departsLabel.setPrefSize(50.0, 17.0);
 
-        Label tillTimeLabel = new Label("Till Time");
-        tillTimeLabel.setLayoutX(399.0);
-        tillTimeLabel.setLayoutY(157.0);
-        tillTimeLabel.setPrefSize(48.0, 17.0);
+        Label arrivesLabel = new Label("Arrives");
+        arrivesLabel.setLayoutX(410.0);
+        arrivesLabel.setLayoutY(157.0);
+        arrivesLabel.setPrefSize(48.0, 17.0);
 
-        // TextField to enter the From location to match Airplanes that have the same From location.
+        // TextField to enter the From location to match Airplanes that have the same From location. Places are suggested while typing.
         TextField originTextField = new TextField();
         originTextField.setLayoutX(462.0);
         originTextField.setLayoutY(68.0);
         originTextField.setPrefHeight(22.0);
         originTextField.setPrefWidth(137.0);
+        suggestCities(originTextField);
 
-        // TextField to enter the To location to match Airplanes that have the same To location.
+        // TextField to enter the To location to match Airplanes that have the same To location. Places are suggested while typing.
         TextField destinationTextField = new TextField();
         destinationTextField.setLayoutX(462.0);
         destinationTextField.setLayoutY(97.0);
         destinationTextField.setPrefHeight(22.0);
         destinationTextField.setPrefWidth(137.0);
-
-        /* TextFields to enter From Time and Till Time. This will be used to search for Airplanes that arrive between From Time and Till Time */
-
-        TextField fromTimeTextField = new TextField();
-        fromTimeTextField.setLayoutX(462.0);
-        fromTimeTextField.setLayoutY(124.0);
-        fromTimeTextField.setPrefSize(137.0, 22.0);
-
-        TextField tillTimeTextField = new TextField();
-        tillTimeTextField.setLayoutX(462.0);
-        tillTimeTextField.setLayoutY(153.0);
-        tillTimeTextField.setPrefSize(137.0, 22.0);
+        suggestCities(destinationTextField);
+
+        /* TextFields to enter the date and time (dd-mm-yyyy hh:mm) from and till which the Airplanes depart, and from and till which they arrive.
+         * Any of them can be left empty, then the search is open on that side. */
+
+        TextField departsFromTextField = new TextField();
+        departsFromTextField.setPromptText("From dd-mm-yyyy hh:mm");
+        departsFromTextField.setLayoutX(462.0);
+        departsFromTextField.setLayoutY(124.0);
+        departsFromTextField.setPrefSize(100.0, 22.0);
+
+        TextField departsTillTextField = new TextField();
+        departsTillTextField.setPromptText("Till dd-mm-yyyy hh:mm");
+        departsTillTextField.setLayoutX(567.0);
+        departsTillTextField.setLayoutY(124.0);
+        departsTillTextField.setPrefSize(100.0, 22.0);
+
+        TextField arrivesFromTextField = new TextField();
+        arrivesFromTextField.setPromptText("From dd-mm-yyyy hh:mm");
+        arrivesFromTextField.setLayoutX(462.0);
+        arrivesFromTextField.setLayoutY(153.0);
+        arrivesFromTextField.setPrefSize(100.0, 22.0);
+
+        TextField arrivesTillTextField = new TextField();
+        arrivesTillTextField.setPromptText("Till dd-mm-yyyy hh:mm");
+        arrivesTillTextField.setLayoutX(567.0);
+        arrivesTillTextField.setLayoutY(153.0);
+        arrivesTillTextField.setPrefSize(100.0, 22.0);
+
+        /* searchStatusLabel says how many airplanes were found, or which date and time couldn't be read. */
+        Label searchStatusLabel = new Label();
+        searchStatusLabel.setLayoutX(362.0);
+        searchStatusLabel.setLayoutY(329.0);
+        searchStatusLabel.setPrefSize(220.0, 17.0);
 
         Button searchButton = new Button("Search");
         searchButton.setLayoutX(462.0);
@@ -1573,27 +1066,37 @@ public class Demo extends Application {
         updateButton.setLayoutY(325.0);
         updateButton.setMnemonicParsing(false);
 
+        Button connectionsButton = new Button("Connections");
+        connectionsButton.setLayoutX(372.0);
+        connectionsButton.setLayoutY(188.0);
+        connectionsButton.setMnemonicParsing(false);
+
         apSchedule.getChildren().addAll(
             mainListView, titleLabel, searchByLabel, originLabel, destinationLabel,
-            fromTimeLabel, tillTimeLabel, originTextField, destinationTextField,
-            fromTimeTextField, tillTimeTextField, searchButton, clearButton, secondaryListView, backButton, updateButton
+            departsLabel, arrivesLabel, originTextField, destinationTextField,
+            departsFromTextField, departsTillTextField, arrivesFromTextField, arrivesTillTextField, searchStatusLabel, searchButton, clearButton, secondaryListView, connectionListView, backButton, updateButton,
+            connectionsButton, sortComboBox
         );
+        apSchedule.getChildren().addAll(pageButtons);
 
         Scene scSchedule = new Scene(apSchedule);
 
-        /* Update Button when pressed clears all the TextField and also sets the mainListView to an empty list and then back to the Schedule.schedule list
+        /* Update Button when pressed clears all the TextField and also asks the pager for the page it is on again
          * to account for any changes.
          * Now you can put fresh inputs to search through the Schedule of updated airplanes.
          */
         updateButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent ae) {
-                mainListView.setItems(FXCollections.observableArrayList());
-                mainListView.setItems(Schedule.schedule);
-                fromTimeTextField.clear();
-                tillTimeTextField.clear();
+                pager.refresh();
+                departsFromTextField.clear();
+                departsTillTextField.clear();
+                arrivesFromTextField.clear();
+                arrivesTillTextField.clear();
+                searchStatusLabel.setText("");
                 originTextField.clear();
                 destinationTextField.clear();
                 secondaryListView.setItems(FXCollections.observableArrayList());
+                connectionListView.setItems(FXCollections.observableArrayList());
             }
         });
 
@@ -1604,9 +1107,13 @@ public class Demo extends Application {
             public void handle(ActionEvent arg0) {
                 originTextField.clear();
                 destinationTextField.clear();
-                fromTimeTextField.clear();
-                tillTimeTextField.clear();
+                departsFromTextField.clear();
+                departsTillTextField.clear();
+                arrivesFromTextField.clear();
+                arrivesTillTextField.clear();
+                searchStatusLabel.setText("");
                 secondaryListView.setItems(FXCollections.observableArrayList());
+                connectionListView.setItems(FXCollections.observableArrayList());
             }
         });
 
@@ -1618,45 +1125,53 @@ public class Demo extends Application {
         });
 
         /* Search Button when pressed first clears the secondaryListView of any previous searches. It does this by first setting it to an empty list.
-         * Then, a FilteredList is made that filters through the Schedule.schedule ObservableList which contains Airplane objects of airplanes yet to depart
-         * It will then start checking if the String representation of the Airplane objects contain the From location input, To location input.
-         * It will also pull the substring of the String representation containing the Arrival time of the Airplane object. It will then convert this 
-         * string Arrival time to HH:mm format using SimpleDateFormat parsing. It will then check if the Airplane object's arrival time LIES BETWEEN
-         * the From Time and Till Time. 
-         * 
-         * All of these checks are stored in separate variables. boolean originMatch contains the boolean if the string representation of the airplane 
-         * contains the From location. boolean destinationMatch is similar but for the To location. boolean timeMatch contains the boolean if the 
-         * airplane object's arrival time lies between the From Time and Till Time input by the user.
-         * 
-         * If there's no parsing error (The user inputs the time in correct format..), the FilteredList contains only those Airplane objects whose 
-         * originMatch == true, destinationMatch == true and timeMatch == true
-         * 
-         * If there's a parsing error (The user inputs the time incorrect format..), the FilteredList contains only those Airplane objects 
-         * whose originMatch == true and destinationMatch == true. It ignores the timeMatch.
-         * 
-         * After the FilteredList is made, the secondaryListView is set to this FilteredList
+         * It then asks the routeIndex of the Schedule for the airplanes from the From location to the To location that depart and arrive within
+         * the dates and times typed in. An empty From or To location matches any location, and the case of the location doesn't matter.
+         *
+         * The dates and times are read in dd-mm-yyyy hh:mm format with parseDateTime. An empty field leaves the search open on that side. If a field
+         * is not a real date and time (like 31-02-2025 10:00), nothing is searched and the searchStatusLabel says so. The old search only looked at
+         * the time of the arrival, so it found the airplanes of every day, and couldn't search the departure at all.
+         *
+         * The routeIndex keeps the airplanes of every route ordered by their departure and arrival, so the search doesn't look at every airplane in the
+         * schedule or at their string representation. It only walks the airplanes in the window, and shows at most SEARCH_LIMIT of them.
          */
         searchButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent arg0) {
                 secondaryListView.setItems(FXCollections.observableArrayList());
-                FilteredList<Airplane> filteredListRef = new FilteredList<>(Schedule.schedule, i -> {
-                    boolean originMatch = i.toString().contains("FROM: " + originTextField.getText());
-                    boolean destinationMatch = i.toString().contains("TO: " + destinationTextField.getText());
-                    SimpleDateFormat hhmm = new SimpleDateFormat("HH:mm");
-                    try {
-                        Date fromTime = hhmm.parse(fromTimeTextField.getText());
-                        Date tillTime = hhmm.parse(tillTimeTextField.getText());
-                        int indexOfArrivalTime = i.toString().indexOf("ARRIVAL TIME: ") + "ARRIVAL TIME: ".length();
-                        Date generalArrivalTime = hhmm.parse(i.toString().substring(indexOfArrivalTime, indexOfArrivalTime + 6));
-                        boolean timeMatch = generalArrivalTime.after(fromTime) && generalArrivalTime.before(tillTime);
-                        return(originMatch && destinationMatch && timeMatch);
-                    } catch (ParseException e) {
-                        return (originMatch && destinationMatch);
-                    }
+                connectionListView.setVisible(false);
+                secondaryListView.setVisible(true);
+                Instant departsFrom, departsTill, arrivesFrom, arrivesTill;
+                try {
+                    departsFrom = parseDateTime(departsFromTextField);
+                    departsTill = parseDateTime(departsTillTextField);
+                    arrivesFrom = parseDateTime(arrivesFromTextField);
+                    arrivesTill = parseDateTime(arrivesTillTextField);
+                } catch (DateTimeParseException e) {
+                    searchStatusLabel.setText("Enter the times as dd-mm-yyyy hh:mm.");
+                    return;
+                }
+                List<Airplane> found = Schedule.routeIndex.search(originTextField.getText().trim(), destinationTextField.getText().trim(),
+                        departsFrom, departsTill, arrivesFrom, arrivesTill, SEARCH_LIMIT);
+                secondaryListView.setItems(FXCollections.observableArrayList(found));
+                searchStatusLabel.setText(found.size() == SEARCH_LIMIT ? "First " + SEARCH_LIMIT + " flights shown." : found.size() + " flights found.");
+            }
+        });
 
+        /* Connections Button when pressed looks for journeys from the From location to the To location, also with changes of airplane on the way
+         * (see ConnectionSearch). Both locations are needed. It shows the 10 journeys that arrive first in the connectionListView, which takes the place
+         * of the secondaryListView until Search is pressed again.
+         */
+        connectionsButton.setOnAction(new EventHandler<ActionEvent>() {
+            public void handle(ActionEvent arg0) {
+                String origin = originTextField.getText().trim();
+                String destination = destinationTextField.getText().trim();
+                connectionListView.setItems(FXCollections.observableArrayList());
+                if (!origin.isEmpty() && !destination.isEmpty()) {
+                    connectionListView.setItems(FXCollections.observableArrayList(
+                            ConnectionSearch.search(origin, destination, CONNECTION_MAX_LAYOVER, 10, ConnectionSearch.BY_ARRIVAL)));
                 }
-                );
-                secondaryListView.setItems(filteredListRef);
+                secondaryListView.setVisible(false);
+                connectionListView.setVisible(true);
             }
         });
 
@@ -1666,16 +1181,90 @@ public class Demo extends Application {
     /* The bookPrompt is the scene that opens up after you press the Book button in the Traveller dashboard. It shows the schedule of airplanes
      * that have yet to depart. There's also a TextField that will allow you to enter the name of the flight to book seats in.
      */
+    /* parseDateTime reads the date and time (dd-mm-yyyy hh:mm) typed in a TextField as an Instant in the time zone of the computer, like the Calendars
+     * of the airplanes. It returns null if the field is empty and throws a DateTimeParseException if the text is not a real date and time.
+     */
+    private static Instant parseDateTime(TextField field) {
+        String text = field.getText().trim();
+        if (text.isEmpty()) {
+            return (null);
+        }
+        return (LocalDateTime.parse(text, DATE_TIME).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /* pageButtons makes the < (previous page) and > (next page) buttons of a SchedulePager at x, y. Each button is disabled when there is
+     * no page to go to, by binding its disableProperty to atFirstPage or atLastPage of the pager.
+     */
+    private Button[] pageButtons(SchedulePager pager, double x, double y) {
+        Button previousButton = new Button("<");
+        previousButton.setLayoutX(x);
+        previousButton.setLayoutY(y);
+        previousButton.setMnemonicParsing(false);
+        previousButton.disableProperty().bind(pager.atFirstPage);
+        previousButton.setOnAction(new EventHandler<ActionEvent>() {
+            public void handle(ActionEvent ae) {
+                pager.previous();
+            }
+        });
+
+        Button nextButton = new Button(">");
+        nextButton.setLayoutX(x + 35);
+        nextButton.setLayoutY(y);
+        nextButton.setMnemonicParsing(false);
+        nextButton.disableProperty().bind(pager.atLastPage);
+        nextButton.setOnAction(new EventHandler<ActionEvent>() {
+            public void handle(ActionEvent ae) {
+                pager.next();
+            }
+        });
+        return (new Button[] { previousButton, nextButton });
+    }
+
+    /* suggestCities shows a ContextMenu under a TextField with the places that start with what the user has typed so far (see CityIndex).
+     * Everytime the text of the TextField changes, the listener asks Schedule.cities for suggestions and makes a MenuItem for each of them.
+     * Choosing a MenuItem puts the place in the TextField the way it is written in the schedule. The menu is hidden when there is nothing to suggest
+     * or when the text already is the only suggestion.
+     */
+    private void suggestCities(TextField field) {
+        ContextMenu suggestions = new ContextMenu();
+        field.textProperty().addListener(
+            (observable, oldValue, newValue) -> {
+                List<String> found = Schedule.cities.suggest(newValue == null ? "" : newValue, CityIndex.MAX_SUGGESTIONS);
+                if (found.isEmpty() || (found.size() == 1 && found.get(0).equals(newValue))) {
+                    suggestions.hide();
+                    return;
+                }
+                suggestions.getItems().clear();
+                for (String city : found) {
+                    MenuItem item = new MenuItem(city);
+                    item.setOnAction(new EventHandler<ActionEvent>() {
+                        public void handle(ActionEvent ae) {
+                            field.setText(city);
+                            suggestions.hide();
+                        }
+                    });
+                    suggestions.getItems().add(item);
+                }
+                if (!suggestions.isShowing()) {
+                    suggestions.show(field, Side.BOTTOM, 0, 0);
+                }
+            }
+        );
+    }
+
     public void bookPrompt(Stage primaryStage, Scene oldScene) {
         AnchorPane apBook = new AnchorPane();
-        apBook.setPrefSize(496, 259);
+        apBook.setPrefSize(496, 430);
 
-        // This is a ListView that will show the schedule of Airplane objects. It is linked to Schedule.schedule ObservableList<Airplane>
+        // This is a ListView that will show the schedule of Airplane objects. It is linked to the items of a SchedulePager, one page at a time
+        // sorted by departure time. The < and > buttons go to the previous and next page.
         // The ListView cells automatically display the string representation of the Airplane object. There's no need to set each cell.
-        ListView<Airplane> listView = new ListView<>(Schedule.schedule);
+        SchedulePager pager = new SchedulePager(Schedule.query.byDeparture);
+        ListView<Airplane> listView = new ListView<>(pager.items);
         listView.setLayoutX(20);
         listView.setLayoutY(31);
         listView.setPrefSize(458, 140);
+        Button[] pageButtons = pageButtons(pager, 408, 176);
 
         Label scheduleLabel = new Label("Schedule");
         scheduleLabel.setLayoutX(20);
@@ -1714,13 +1303,12 @@ public class Demo extends Application {
             }
         });
 
-        /* When the update button is pressed, the listView is set to an empty list first and then back to the ObservableList<Airplane> Schedule.schedule
-         * so any change made to the Schedule.schedule previously is reflected on the ListView (like the number of booked seats, etc).
+        /* When the update button is pressed, the pager asks for the page it is on again so any change made to the schedule previously is
+         * reflected on the ListView (like the number of booked seats, etc).
          */
         updateButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent ae) {
-                listView.setItems(FXCollections.observableArrayList());
-                listView.setItems(Schedule.schedule);
+                pager.refresh();
             }
         });
     
@@ -1728,27 +1316,109 @@ public class Demo extends Application {
         bookButton.setLayoutX(387);
         bookButton.setLayoutY(221);
 
-        apBook.getChildren().addAll(listView, scheduleLabel, flightNameLabel, flightNameField, statusLabel, backButton, bookButton, updateButton);
+        /* The waitlistButton lets the traveller wait for a seat on a flight that is fully booked. */
+        Button waitlistButton = new Button("Join Waitlist");
+        waitlistButton.setLayoutX(20);
+        waitlistButton.setLayoutY(227);
+
+        /* Below the schedule, a traveller can find the flights of a route that still have enough free seats between two days, instead of opening
+         * every flight. Find asks Schedule.availability (see AvailabilityIndex) and shows the flights it found in availabilityListView, in the order they depart.
+         */
+        Label availabilityLabel = new Label("Find flights with free seats (dd-mm-yyyy):");
+        availabilityLabel.setLayoutX(20);
+        availabilityLabel.setLayoutY(262);
+
+        TextField availabilityOriginField = new TextField();
+        availabilityOriginField.setPromptText("Origin");
+        availabilityOriginField.setLayoutX(20);
+        availabilityOriginField.setLayoutY(282);
+        availabilityOriginField.setPrefWidth(85);
+
+        TextField availabilityDestinationField = new TextField();
+        availabilityDestinationField.setPromptText("Destination");
+        availabilityDestinationField.setLayoutX(110);
+        availabilityDestinationField.setLayoutY(282);
+        availabilityDestinationField.setPrefWidth(85);
+
+        TextField availabilityFromField = new TextField();
+        availabilityFromField.setPromptText("From");
+        availabilityFromField.setLayoutX(200);
+        availabilityFromField.setLayoutY(282);
+        availabilityFromField.setPrefWidth(85);
+
+        TextField availabilityTillField = new TextField();
+        availabilityTillField.setPromptText("To");
+        availabilityTillField.setLayoutX(290);
+        availabilityTillField.setLayoutY(282);
+        availabilityTillField.setPrefWidth(85);
+
+        TextField availabilitySeatsField = new TextField();
+        availabilitySeatsField.setPromptText("Seats");
+        availabilitySeatsField.setLayoutX(380);
+        availabilitySeatsField.setLayoutY(282);
+        availabilitySeatsField.setPrefWidth(45);
+
+        Button availabilityButton = new Button("Find");
+        availabilityButton.setLayoutX(432);
+        availabilityButton.setLayoutY(282);
+
+        ObservableList<Airplane> availableFlights = FXCollections.observableArrayList();
+        ListView<Airplane> availabilityListView = new ListView<>(availableFlights);
+        availabilityListView.setLayoutX(20);
+        availabilityListView.setLayoutY(314);
+        availabilityListView.setPrefSize(458, 100);
+
+        suggestCities(availabilityOriginField);
+        suggestCities(availabilityDestinationField);
+
+        /* When Find is pressed, the two days and the number of seats are read. If any of them is wrong, the status label says so.
+         * Otherwise the flights found replace the ones shown before.
+         */
+        availabilityButton.setOnAction(new EventHandler<ActionEvent>() {
+            public void handle(ActionEvent ae) {
+                DateTimeFormatter dayFormat = DateTimeFormatter.ofPattern("dd-MM-uuuu").withResolverStyle(ResolverStyle.STRICT);
+                try {
+                    LocalDate fromDay = LocalDate.parse(availabilityFromField.getText().trim(), dayFormat);
+                    LocalDate tillDay = LocalDate.parse(availabilityTillField.getText().trim(), dayFormat);
+                    int seats = Integer.parseInt(availabilitySeatsField.getText().trim());
+                    if (seats <= 0) {
+                        statusLabel.setText("Enter at least 1 seat.");
+                        return;
+                    }
+                    List<Airplane> found = Schedule.availability.available(availabilityOriginField.getText().trim(),
+                            availabilityDestinationField.getText().trim(), fromDay, tillDay, seats);
+                    availableFlights.setAll(found);
+                    statusLabel.setText(found.size() + " flights found.");
+                } catch (DateTimeParseException e) {
+                    statusLabel.setText("Enter the days as dd-mm-yyyy.");
+                } catch (NumberFormatException e) {
+                    statusLabel.setText("Enter the number of seats.");
+                }
+            }
+        });
+
+        apBook.getChildren().addAll(listView, scheduleLabel, flightNameLabel, flightNameField, statusLabel, backButton, bookButton, updateButton, waitlistButton);
+        apBook.getChildren().addAll(pageButtons);
+        apBook.getChildren().addAll(availabilityLabel, availabilityOriginField, availabilityDestinationField, availabilityFromField, availabilityTillField,
+                availabilitySeatsField, availabilityButton, availabilityListView);
         Scene scene = new Scene(apBook);
         primaryStage.setScene(scene);
 
         /* When the book button is pressed, it gets the Flight name from the text field and searches for the Flight in the Schedule.
-         * If the flight was not found (index == -1), the appropriate message "Flight was not found." is set in the Status Label.
-         * If the flight was found, we make an Airplane reference foundAirplane and then set it to the Airplane object in the Schedule using its index (.get(index) function
-         * of ObservableList).
-         * If the Airplane is fully booked, the appropriate message is displayed "Flight is fully booked." in the status label.
+         * The flight is looked up with Manager.findEntry. If the flight was not found (null), the appropriate message "Flight was not found." is set in the Status Label.
+         * If the flight was found, foundAirplane is the Airplane object in the Schedule.
+         * If the Airplane is fully booked, the status label says so and suggests the waitlist.
          * If the Airplane is not fully booked, the traveller's airplane attribute is set to the foundAirplane. The bookScene() function is then called
          * opening up the bookScene where all the booking takes place. Here we pass three parameters. primaryStage, scene and oldScene. The reason will be mentioned further
          */
         bookButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent ae) {
-                int index = Manager.searchEntry(flightNameField.getText());
-                if (index == -1) {
+                Airplane foundAirplane = Manager.findEntry(flightNameField.getText());
+                if (foundAirplane == null) {
                     statusLabel.setText("Flight was not found.");
                 } else {
-                    Airplane foundAirplane = Schedule.schedule.get(index);
-                    if (foundAirplane.countBooked() == foundAirplane.seats.length) {
-                        statusLabel.setText("Flight is fully booked.");
+                    if (foundAirplane.isFull()) {
+                        statusLabel.setText("Fully booked. Join the waitlist?");
                     } else {
                         traveller.airplane = foundAirplane;
                         bookScene(primaryStage, scene, oldScene);
@@ -1756,6 +1426,32 @@ public class Demo extends Application {
                 }
             }  
         });
+
+        /* When the waitlist button is pressed, the traveller joins the waitlist of the flight for one seat. The traveller can only join the waitlist of a flight
+         * that is fully booked (otherwise the traveller should just book a seat). The status label shows how many travellers are waiting.
+         * When a seat comes back, the Waitlist books it for the traveller on whichever thread gave the seat back. The promoted future then completes and
+         * we show the result inside Platform.runLater. The seat shows up in the invoice of the traveller like any other booked seat.
+         */
+        waitlistButton.setOnAction(new EventHandler<ActionEvent>() {
+            public void handle(ActionEvent ae) {
+                Airplane foundAirplane = Manager.findEntry(flightNameField.getText());
+                if (foundAirplane == null) {
+                    statusLabel.setText("Flight was not found.");
+                    return;
+                }
+                if (!foundAirplane.isFull()) {
+                    statusLabel.setText("Seats are free, press Book.");
+                    return;
+                }
+                WaitlistEntry entry = traveller.joinWaitlist(foundAirplane, 1, 0);
+                statusLabel.setText("On waitlist, " + foundAirplane.waitlist.size() + " waiting.");
+                entry.promoted.thenAccept(result -> Platform.runLater(new Runnable() {
+                    public void run() {
+                        statusLabel.setText(result.message);
+                    }
+                }));
+            }
+        });
     }
 
     /* bookScene is a function with three parameters - primaryStage, oldScene and Dashboard. 
@@ -1788,6 +1484,7 @@ public class Demo extends Application {
 
         /* This is for positioning JavaFX elements below the ToggleButtons, don't worry about it. */
         int baseY = 76 + (((seatButtons.length - 1) / 5) * 35);
+        apBook.setPrefHeight(Math.max(268, baseY + 150));
 
         Label priceLabel = new Label("Price per Seat:");
         priceLabel.setLayoutX(16);
@@ -1798,7 +1495,7 @@ public class Demo extends Application {
         totalCostLabel.setLayoutY(baseY+47);
 
         /* This is a Blank label that will reflect the totalCost spent by the traveller on the seats. Initially it will be blank because the traveller
-         * hasn't booked any ticket but we will update it when the traveller purchases seats.
+         * hasn't booked any ticket but we will update it when the traveller holds seats. Held seats are counted at the price they were held at.
          */
         Label totalCostValueLabel = new Label();
         totalCostValueLabel.setLayoutX(78);
@@ -1834,28 +1531,52 @@ public class Demo extends Application {
         nextButton.setLayoutX(171);
         nextButton.setLayoutY(baseY + 85);
 
+        /* These are for holding seats for a whole group at once. You enter the number of people in groupSizeField and press Hold Together.
+         * The group gets that many seats next to each other, or no seats at all if there is no such row of free seats left.
+         */
+        Label groupSizeLabel = new Label("Group of:");
+        groupSizeLabel.setLayoutX(15);
+        groupSizeLabel.setLayoutY(baseY + 122);
+
+        TextField groupSizeField = new TextField();
+        groupSizeField.setLayoutX(70);
+        groupSizeField.setLayoutY(baseY + 118);
+        groupSizeField.setPrefWidth(40);
+
+        Button bookTogetherButton = new Button("Hold Together");
+        bookTogetherButton.setLayoutX(118);
+        bookTogetherButton.setLayoutY(baseY + 118);
+
         /* During booking, we will start a concurrentTraveller() thread to demonstrate multithreading. */
         new concurrentTraveller(traveller.airplane); // Connect another traveller to the airplane
         
-        /* Reminder: We made the seatPrice attribute in the Airplane object to a DoubleProperty. This is so that we can bind the text Label to the 
+        /* Reminder: The Airplane is part of the booking core and doesn't know about JavaFX. Its JavaFX properties live in its FlightView, which
+         * we get from ScheduleView. The seatPrice of the FlightView is a DoubleProperty. This is so that we can bind the text Label to the 
          * DoubleProperty. Everytime the DoubleProperty changes, the price Label changes. We can't do this with normal Double.
          */
+        FlightView flightView = ScheduleView.of(traveller.airplane);
+
+        /* visitId is the start of the request id of every seat held in this visit of the bookScene. It is made of the traveller, the airplane and the
+         * time the scene was opened. The request id of a seat adds the seat number to it, so clicking the same seat twice (a double click) is the
+         * SAME request and gets the same hold back, while coming back to the bookScene later is a new visit with new requests.
+         */
+        String visitId = traveller.getPassengerName() + "/" + traveller.airplane.id + "/" + System.nanoTime();
 
          /* Just like DoubleProperty, IntegerProperty were made so that we can bind to these classes, the Text Label also has a textProperty 
           * that will allow it to bind to other observable values so that the label changes whenever the DoubleProperty changes.
           
           * However, textProperty cannot directly bind to DoubleProperty. It can only bind to the string version of it. So we bind it to 
-          * traveller.airplane.seatPrice.asString("%.2f"). This converts the DoubleProperty to its appropriate string with 2 decimal places.
+          * flightView.seatPrice.asString("%.2f"). This converts the DoubleProperty to its appropriate string with 2 decimal places.
 
-          Now whenever the traveller.airplane.seatPrice.asString("%.2f") changes, the priceValueLabel's text changes accordingly.
+          Now whenever the flightView.seatPrice.asString("%.2f") changes, the priceValueLabel's text changes accordingly.
 
           */
-        priceValueLabel.textProperty().bind(traveller.airplane.seatPrice.asString("%.2f"));
+        priceValueLabel.textProperty().bind(flightView.seatPrice.asString("%.2f"));
         for (int i = 0; i < seatButtons.length; i++) {
             /* We will now loop through the seatButtons (the ToggleButton array). Each ToggleButton will be constructed. */
-            /* The corresponding seat in the airplane has a ToggleButton attribute. This attribute is linked to the ToggleButton the loop is currently at */
+            /* seatOfButton is the seat in the airplane that the ToggleButton the loop is currently at stands for. */
             seatButtons[i] = new ToggleButton();
-            traveller.airplane.seats[i].ref = seatButtons[i];
+            Seat seatOfButton = traveller.airplane.seats[i];
             /* The ToggleButton's text is set to the seat number. */
             seatButtons[i].setText(traveller.airplane.seats[i].position + "");
             /* The below 5 lines describe the positioning of the ToggleButtons */
@@ -1866,11 +1587,11 @@ public class Demo extends Application {
             seatButtons[i].setLayoutY(76 + row * 35);
 
             /* The seatButtons the loop is currently at, has a disableProperty. This disableProperty describes if the Button is disabled (unusable) or not.
-             * This disableProperty also has a bind property. We bind this disableProperty to the booked BooleanProperty attribute of the seat the loop is at.
+             * This disableProperty also has a bind property. We bind this disableProperty to the booked BooleanProperty of the seat the loop is at (in the FlightView).
              * So if the booked is set to true, the disableProperty of the seatButton is set to true and thus the ToggleButton is disabled.
              * If the booked is set to false, the disableProperty of the seatButton is set to false and thus the ToggleButton is enabled.
              */
-            seatButtons[i].disableProperty().bind(traveller.airplane.seats[i].booked);
+            seatButtons[i].disableProperty().bind(flightView.booked[i]);
             /* BooleanBinding is like BooleanProperty but it has a difference. It can bind to MULTIPLE booleans at a time. Here, we are essentially making a subclass
              * that overrides the computeValue of the BooleanBinding class. computeValue() returns true if all the seats are booked, returns false if any one seat is unbooked.
              * Before that however, to make sure it is tracking if all the seats are booked or not, we bind it to the 'booked' BooleanProperty of all the seats in the airplane.
@@ -1881,14 +1602,14 @@ public class Demo extends Application {
             */
             BooleanBinding areAllSeatsBookedCheck = new BooleanBinding() {
                 {
-                    for (int i = 0; i < traveller.airplane.seats.length; i++) {
-                        super.bind(traveller.airplane.seats[i].booked);
+                    for (int i = 0; i < flightView.booked.length; i++) {
+                        super.bind(flightView.booked[i]);
                     }
                 }
                 protected boolean computeValue() {
                     boolean check = true;
-                    for (int i = 0; i < traveller.airplane.seats.length; i++) {
-                        if (traveller.airplane.seats[i].booked.get() == false) {
+                    for (int i = 0; i < flightView.booked.length; i++) {
+                        if (flightView.booked[i].get() == false) {
                             check = false;
                             break;
                         }
@@ -1921,42 +1642,39 @@ public class Demo extends Application {
 
             /* Now we do the event handling for each seatButton. Everytime a ToggleButton seatButtons is pressed, it gets the current ToggleButton
             from the ActionEvent ae.getSource() and typecasting it to (ToggleButton). 
-            If the ToggleButton is selected (but not disabled yet), we will loop through all the seats in the airplane and find the seat in the airplane
-            with the same ToggleButton it is linked to. We will then equate it to currentSeat.
+            If the ToggleButton is selected (but not disabled yet), the seat to book is seatOfButton, which we remembered when the button was made.
+            We will then equate it to currentSeat.
 
-            Now we will call traveller.bookSeats(currentSeat) to create a booking request for the traveller. Everytime a seat button is selected, a booking request is called for the traveller
-            The result of this booking request in the int success variable. 
+            Now we will call traveller.holdSeats to HOLD the seat for the traveller instead of booking it straight away. The seat is taken in the inventory
+            so nobody else can book it, but it is only paid for when the traveller presses Purchase in the addonScene. If the traveller doesn't get there
+            within HoldManager.CHECKOUT_TTL_MILLIS (10 minutes), the HoldTimer gives the seat back to the airplane.
+            Holding is a single claim on the SeatInventory that never waits for a lock, so we can do it right here on the Application thread.
             
-            If the success variable is 1, booking is successful and thus the BACK Button is disabled. Remember, the successful booking request also sets
-            the booked BooleanProperty of the seat to true. This also disables the button automatically as the disableProperty of the button is binded to the 
-            booked BooleanProperty of the seat.
-            This is made so that the Traveller cannot go back to the Dashboard and the only way he can proceed is pressing Next and purchasing the addons.
-            It then checks the value of areAllSeatsBookedCheck. If it is true, the status label displays "All seats are booked" (like the listener we added in Line 1787 )
-            If it is false, the status label displays "(seat position) successfully booked"
+            If the hold is successful, the held seat's booked BooleanProperty is set to true by ScheduleView.seatHeld. This disables the button
+            automatically as the disableProperty of the button is binded to the booked BooleanProperty of the seat.
+            The BACK button is NOT disabled anymore. Pressing it gives the held seats back.
+            It then checks the value of areAllSeatsBookedCheck. If it is false, the status label displays "(seat position) held."
             
-            If the success variable is 0, it checks if all the seats are booekd. If yes, it displays "All seats are booked" (automatically due to the listener)
-            If no, it displays "Seat already booked.". This is in the case two travellers try to book a seat at the same exact time.
+            If the hold is unsuccessful (another traveller got the seat first), it displays "(seat position) already booked." unless all the seats are
+            taken, then "All seats have been booked." is displayed by the listener.
+            In both cases the ToggleButton is unselected again, so that it is ready if the seat is ever given back.
+            The hold is made with the request id visitId + the seat number, so a double click holds the seat once and shows the same status again.
             */
 
             seatButtons[i].setOnAction(new EventHandler<ActionEvent>() {
                public void handle(ActionEvent ae) {
                 ToggleButton currentButton = (ToggleButton) ae.getSource();
                 if ((currentButton.isSelected()) && (!currentButton.isDisabled())) {
-                    for (int j = 0; j < traveller.airplane.seats.length; j++) {
-                        if (traveller.airplane.seats[j].ref == currentButton) {
-                            Seat currentSeat = traveller.airplane.seats[j];
-                            int success = traveller.bookSeats(currentSeat);
-                            if (success == 1) {
-                                backButton.setDisable(true);
-                                if (areAllSeatsBookedCheck.get() == false)
-                                statusValueLabel.setText(currentSeat.position + " successfully booked.");
-                                totalCostValueLabel.setText(String.format("%.2f", traveller.totalCost));
-                            } else {
-                                if (traveller.airplane.countBooked() < traveller.airplane.seats.length) {
-                                    statusValueLabel.setText(currentSeat.position + " already booked.");
-                                }
-                            }
-                            break;
+                    Seat currentSeat = seatOfButton;
+                    SeatHold hold = traveller.holdSeats(new int[] { currentSeat.position }, visitId + "/" + currentSeat.position);
+                    currentButton.setSelected(false);
+                    if (hold != null) {
+                        if (areAllSeatsBookedCheck.get() == false)
+                        statusValueLabel.setText(currentSeat.position + " held.");
+                        totalCostValueLabel.setText(String.format("%.2f", traveller.totalCost + traveller.heldCost()));
+                    } else {
+                        if (!traveller.airplane.isFull()) {
+                            statusValueLabel.setText(currentSeat.position + " already booked.");
                         }
                     }
                 }
@@ -1965,17 +1683,47 @@ public class Demo extends Application {
             apBook.getChildren().add(seatButtons[i]);
             // Once all the positioning of seatButtons, event handling is done. We are adding the seatButton to the anchor pane.
         }
-        apBook.getChildren().addAll(titleLabel, flightNameLabel, flightLabel, backButton, nextButton, priceValueLabel, priceLabel, statusLabel, statusValueLabel, totalCostLabel, totalCostValueLabel);
+        apBook.getChildren().addAll(titleLabel, flightNameLabel, flightLabel, backButton, nextButton, priceValueLabel, priceLabel, statusLabel, statusValueLabel, totalCostLabel, totalCostValueLabel,
+                groupSizeLabel, groupSizeField, bookTogetherButton);
         Scene scene = new Scene(apBook);
         primaryStage.setScene(scene);
 
-        /* When the nextButton is pressed, it checks if the seats_booked ObservableList<String> in the traveller is empty. If it is empty (it means no seats are booked by the traveller), it goes back to the oldScene.
-        If the seats_booked is not empty, you go to the addonScene so you can book addons. This makes it so that the traveller can book addons only if he has booked a seat.
-        Otherwise, you go back.
+        /* When the bookTogetherButton is pressed, the number in groupSizeField is read and traveller.holdTogether is called. All the seats of the
+         * group are held in ONE hold, either all of them or none, and the price is locked once for the whole group.
+         * Just like a single seat, the group is only paid for when Purchase is pressed in the addonScene.
+         * The seat ToggleButtons of the group are disabled automatically as their booked BooleanProperty changes.
+         * If the number is not a whole number, the status label asks for one.
+         */
+        bookTogetherButton.setOnAction(new EventHandler<ActionEvent>() {
+            public void handle(ActionEvent ae) {
+                int groupSize;
+                try {
+                    groupSize = Integer.parseInt(groupSizeField.getText().trim());
+                } catch (NumberFormatException e) {
+                    statusValueLabel.setText("Enter the number of seats.");
+                    return;
+                }
+                if (groupSize <= 0) {
+                    statusValueLabel.setText("Enter the number of seats.");
+                    return;
+                }
+                SeatHold hold = traveller.holdTogether(groupSize);
+                if (hold != null) {
+                    totalCostValueLabel.setText(String.format("%.2f", traveller.totalCost + traveller.heldCost()));
+                    statusValueLabel.setText(groupSize + " seats held.");
+                } else {
+                    statusValueLabel.setText("No " + groupSize + " seats together are free.");
+                }
+            }
+        });
+
+        /* When the nextButton is pressed, it checks if the traveller is holding any seats or if the seats_booked list in the traveller is empty. If the traveller
+        has neither (it means no seats are held or booked by the traveller), it goes back to the oldScene.
+        Otherwise, you go to the addonScene so you can book addons and pay for the held seats. This makes it so that the traveller can book addons only if he has a seat.
          */
         nextButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent ae) {
-                if (traveller.seats_booked.isEmpty() == false) {
+                if (traveller.hasHolds() || traveller.seats_booked.isEmpty() == false) {
                     /* We pass the Dashboard as the oldScene in addonScene. This is so that if the Purchase button is pressed in the Addon scene, you go to the dashboard.
                      */
                     addonScene(primaryStage, Dashboard);
@@ -1985,9 +1733,10 @@ public class Demo extends Application {
             }
         });
 
-        /* If backButton is pressed, you go back to the oldScene [the scene in bookPrompt]. */
+        /* If backButton is pressed, the seats the traveller is holding are given back and you go back to the oldScene [the scene in bookPrompt]. */
         backButton.setOnAction(new EventHandler<ActionEvent>() {
             public void handle(ActionEvent ae) {
+                traveller.releaseHolds();
                 primaryStage.setScene(oldScene);
             } 
         });
@@ -2137,12 +1886,11 @@ public class Demo extends Application {
         btnSubmitFlightName.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent arg0) {
-                int index_airplane = Manager.searchEntry(tfBookFlightName.getText());
-                if(index_airplane == -1)
+                Airplane found_airplane = Manager.findEntry(tfBookFlightName.getText());
+                if(found_airplane == null)
                     lblBookFlightResponse.setText("No such airplane found");
                 else {
-                    Airplane found_airplane = Schedule.schedule.get(index_airplane);
-                    if (found_airplane.countBooked() == found_airplane.seats.length) {
+                    if (found_airplane.isFull()) {
                         lblBookFlightResponse.setText("All the seats have been booked");
                     }
                 }
@@ -2261,6 +2009,13 @@ public class Demo extends Application {
         gpAddFlight.add(btnClearFlightDetails, 1, 12);
         Button btnBackFlightDetails = new Button("Back");
         gpAddFlight.add(btnBackFlightDetails, 0, 13);
+        Label lblImportFile = new Label("Timetable file (CSV/JSON)");
+        gpAddFlight.add(lblImportFile, 0, 14);
+        TextField tfImportFile = new TextField();
+        tfImportFile.setPromptText("path/to/timetable.csv");
+        gpAddFlight.add(tfImportFile, 1, 14);
+        Button btnImportFlights = new Button("Import");
+        gpAddFlight.add(btnImportFlights, 0, 15);
 
         // Depart Scene
         GridPane gpDepart = new GridPane();
@@ -2371,6 +2126,48 @@ public class Demo extends Application {
             }
         });
 
+        /* Import reads a whole timetable file with FlightImport. A big file takes a while, so it is read on its own thread and the window
+        doesn't freeze. When it is done, the number of imported flights and the first wrong row (if any) are shown in lblFlightDetailsResponse
+        inside Platform.runLater. */
+        btnImportFlights.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent arg0) {
+                if (tfImportFile.getText().isEmpty()) {
+                    lblFlightDetailsResponse.setText("Please enter the file to import");
+                    return;
+                }
+                String fileName = tfImportFile.getText().trim();
+                btnImportFlights.setDisable(true);
+                lblFlightDetailsResponse.setText("Importing...");
+                Thread importer = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        String response;
+                        try {
+                            Path file = Paths.get(fileName);
+                            ImportResult result = FlightImport.importFile(file);
+                            response = result.toString();
+                            if (!result.errors.isEmpty()) {
+                                response = response + "\n" + result.errors.get(0);
+                            }
+                        } catch (IOException | UncheckedIOException | InvalidPathException e) {
+                            response = "Could not read the file: " + e.getMessage();
+                        }
+                        String shown = response;
+                        Platform.runLater(new Runnable() {
+                            @Override
+                            public void run() {
+                                lblFlightDetailsResponse.setText(shown);
+                                btnImportFlights.setDisable(false);
+                            }
+                        });
+                    }
+                }, "Flight Import");
+                importer.setDaemon(true);
+                importer.start();
+            }
+        });
+
         // Clear Flight Details
         btnClearFlightDetails.setOnAction(new EventHandler<ActionEvent>() {
             @Override
@@ -0,0 +1,110 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/* DepartureScheduler departs the airplanes of the schedule by itself when their departure time comes, so the manager doesn't have to type the name of
+ * every airplane that has left. Without it, airplanes that have left stay in the schedule and every search and report has to look past them.
+ *
+ * It is turned on by default. Start the program with -Dairline.autodepart=false to turn it off, for example for a demo or a test that needs the
+ * airplanes put in the schedule from the start. Those all departed in 2024, so with the scheduler on they go straight to the report.
+ *
+ * The program calls start once, after the Schedule is set up (Demo does it before it opens the first window). The airplanes added before that,
+ * like the hard-coded ones of the Schedule, wait in the queue until then. The thread is never started while the Schedule class is still being
+ * loaded, so it can't end up waiting for the Schedule while the Schedule waits for it.
+ *
+ * Every airplane put in the schedule by Manager.addEntry is given to schedule, which puts it in a DelayQueue. A DelayQueue is a priority queue ordered
+ * by the time left until each entry is due, here the departure time of the airplane. Adding an airplane is O(log n).
+ *
+ * ONE daemon thread waits on the queue. take() sleeps until the airplane at the head departs. The thread then also takes out every other airplane that
+ * has departed by now (drainTo only gives the entries that are due) and departs all of them together with Manager.departAll. That takes the lock of
+ * the schedule once for the whole batch instead of once per airplane.
+ *
+ * Nothing in the booking path or in the GUI waits for this thread. Bookings never touch the schedule lock and the GUI hears about the departed
+ * airplanes through FlightEvents like it does for setDeparted. An airplane that the manager deletes or departs by hand is NOT taken out of
+ * the queue. departAll simply doesn't find it in the schedule anymore when it is due.
+ */
+class DepartureScheduler {
+    static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("airline.autodepart"));
+    static final int MAX_BATCH = 1024;
+
+    /* A Departure is an airplane in the queue, due at departureMillis (from System.currentTimeMillis, like the departure Calendar). */
+    private static class Departure implements Delayed {
+        final Airplane airplane;
+        final long departureMillis;
+
+        Departure(Airplane airplane, long departureMillis) {
+            this.airplane = airplane;
+            this.departureMillis = departureMillis;
+        }
+
+        public long getDelay(TimeUnit unit) {
+            return (unit.convert(departureMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS));
+        }
+
+        public int compareTo(Delayed other) {
+            return (Long.compare(departureMillis, ((Departure) other).departureMillis));
+        }
+    }
+
+    private static final DelayQueue<Departure> queue = new DelayQueue<>();
+    private static Thread thread;
+
+    /* schedule puts an airplane in the queue. It is called by Manager.addEntry, which reads the departure Calendar for it on the manager's thread.
+     * It does nothing if the scheduler is turned off.
+     */
+    static void schedule(Airplane airplane, long departureMillis) {
+        if (!ENABLED) {
+            return;
+        }
+        queue.add(new Departure(airplane, departureMillis));
+    }
+
+    /* start starts the thread that departs the airplanes. It does nothing if the scheduler is turned off or was already started.
+     * It reads Schedule.schedule on the calling thread first. If the Schedule isn't set up yet, that sets it up (with its hard-coded airplanes)
+     * before the thread exists.
+     */
+    static synchronized void start() {
+        if (!ENABLED || thread != null) {
+            return;
+        }
+        Objects.requireNonNull(Schedule.schedule);
+        thread = new Thread(new Runnable() {
+            public void run() {
+                runQueue();
+            }
+        }, "departure-scheduler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void runQueue() {
+        List<Departure> due = new ArrayList<>();
+        List<Airplane> batch = new ArrayList<>();
+        while (true) {
+            try {
+                due.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(due, MAX_BATCH - 1);
+            for (Departure departure : due) {
+                batch.add(departure.airplane);
+            }
+            try {
+                Manager.departAll(batch);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+            due.clear();
+            batch.clear();
+        }
+    }
+
+    /* pending is the number of airplanes waiting in the queue, including ones already deleted by the manager. */
+    static int pending() {
+        return (queue.size());
+    }
+}
@@ -0,0 +1,40 @@
+/* DepartureTimePricing changes the price of another strategy depending on how close the airplane is to departing.
+ * windows is a list of times before departure in milliseconds from far to near (for example 30 days, 7 days, 1 day) and multipliers has the
+ * multiplier of each window. Once the airplane is inside a window, the price of the inner strategy is multiplied by the multiplier of that window.
+ *
+ * The price of this strategy changes even when no seat is sold, so validFor returns the time until the next window starts. The PricingEngine
+ * then makes a new quote when that time has passed.
+ */
+class DepartureTimePricing implements PricingStrategy {
+    final PricingStrategy inner;
+    final long[] windows;
+    final double[] multipliers;
+
+    DepartureTimePricing(PricingStrategy inner, long[] windows, double[] multipliers) {
+        if (windows.length != multipliers.length) {
+            throw new IllegalArgumentException("Every window needs a multiplier.");
+        }
+        this.inner = inner;
+        this.windows = windows.clone();
+        this.multipliers = multipliers.clone();
+    }
+
+    public double price(double basePrice, int sold, int capacity, long millisToDeparture) {
+        double multiplier = 1;
+        for (int i = 0; i < windows.length && millisToDeparture <= windows[i]; i++) {
+            multiplier = multipliers[i];
+        }
+        return (inner.price(basePrice, sold, capacity, millisToDeparture) * multiplier);
+    }
+
+    public long validFor(long millisToDeparture) {
+        long valid = inner.validFor(millisToDeparture);
+        for (int i = 0; i < windows.length; i++) {
+            if (millisToDeparture > windows[i]) {
+                valid = Math.min(valid, millisToDeparture - windows[i]);
+                break;
+            }
+        }
+        return (valid);
+    }
+}
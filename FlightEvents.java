@@ -0,0 +1,95 @@
+import java.util.Arrays;
+import java.util.List;
+
+/* FlightEvents keeps the list of every registered FlightListener and passes each event of the booking core on to all of them.
+ * Like Schedule and Report, every member is static because there is only ONE booking core in the program.
+ *
+ * Listeners are added very rarely (the GUI adds one when it starts) but events are fired on every single booking from many threads at the same time.
+ * So the listeners are kept in an array that is never changed once it is stored (copy on write, like the FlightStore). addListener and
+ * removeListener make a new array under the lock of FlightEvents and swap it in with one volatile write. Firing an event reads the array once and
+ * loops over it by index: no lock and no Iterator, so an event doesn't create any object of its own (a CopyOnWriteArrayList made an Iterator
+ * for every event).
+ */
+class FlightEvents {
+    private static volatile FlightListener[] listeners = new FlightListener[0];
+
+    static synchronized void addListener(FlightListener listener) {
+        for (FlightListener registered : listeners) {
+            if (registered == listener) {
+                return;
+            }
+        }
+        FlightListener[] next = Arrays.copyOf(listeners, listeners.length + 1);
+        next[listeners.length] = listener;
+        listeners = next;
+    }
+
+    static synchronized void removeListener(FlightListener listener) {
+        FlightListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                FlightListener[] next = new FlightListener[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                listeners = next;
+                return;
+            }
+        }
+    }
+
+    static void flightAdded(Airplane airplane) {
+        FlightListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].flightAdded(airplane);
+        }
+    }
+
+    static void flightsAdded(List<Airplane> airplanes) {
+        FlightListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].flightsAdded(airplanes);
+        }
+    }
+
+    static void flightRemoved(Airplane airplane) {
+        FlightListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].flightRemoved(airplane);
+        }
+    }
+
+    static void flightDeparted(Airplane airplane) {
+        FlightListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].flightDeparted(airplane);
+        }
+    }
+
+    static void seatBooked(Airplane airplane, Seat seat) {
+        FlightListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].seatBooked(airplane, seat);
+        }
+    }
+
+    static void priceChanged(Airplane airplane, double seatPrice) {
+        FlightListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].priceChanged(airplane, seatPrice);
+        }
+    }
+
+    static void seatHeld(Airplane airplane, Seat seat) {
+        FlightListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].seatHeld(airplane, seat);
+        }
+    }
+
+    static void seatReleased(Airplane airplane, Seat seat) {
+        FlightListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].seatReleased(airplane, seat);
+        }
+    }
+}
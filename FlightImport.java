@@ -0,0 +1,329 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/* FlightImport adds a whole timetable of airplanes to the schedule from a file, instead of one airplane at a time through the admin form.
+ *
+ * The file is either CSV (one airplane per line, the columns in the order of COLUMNS, a first line with the column names is skipped) or JSON lines
+ * (a file ending in .jsonl or .json with one flat JSON object per line, for example
+ * {"name": "MH200", "type": "International", "capacity": 20, "price": 1500, "origin": "Sydney", "destination": "Delhi",
+ *  "arrival": "10-11-2024 11:45", "departure": "10-11-2024 11:50"}).
+ * The times are written like in the admin form, dd-mm-yyyy hh:mm. Empty lines and lines starting with # are skipped.
+ *
+ * The file is read as a stream, CHUNK_SIZE lines at a time, so a file of hundreds of thousands of lines is never held in memory at once.
+ * Each chunk is parsed (and its airplanes made) on a pool of daemon threads while the next chunks are read. The pool is shut down when the import
+ * ends, and as its threads are daemons they can never keep the program running. At most 2 chunks per thread are waiting at a time.
+ * The chunks are added to the schedule in the order of the file, one chunk per Manager.addEntries call. That is ONE copy of the FlightStore
+ * per chunk instead of one per airplane.
+ *
+ * Every row is checked. A row that is wrong (a missing column, a capacity that is not a number, a date like 31-02-2025, ...) is not added and
+ * is reported in the ImportResult with its line number. The other rows are still added. Any RuntimeException of a row is reported like that, not
+ * only the IllegalArgumentExceptions of the checks, so one strange row can never stop the chunk it is in.
+ * At the end the listeners (like the GUI) are told ONCE about all the new airplanes with FlightEvents.flightsAdded. That also happens when the import
+ * stops half way with an exception (the file can't be read anymore), for the chunks that were already added.
+ */
+class FlightImport {
+    static final int CHUNK_SIZE = 10000;
+    static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    static final String[] COLUMNS = { "name", "type", "capacity", "price", "origin", "destination", "arrival", "departure" };
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd-MM-uuuu HH:mm").withResolverStyle(ResolverStyle.STRICT);
+
+    /* A Chunk is the result of parsing CHUNK_SIZE lines: the airplanes made from the good rows and the errors of the bad ones. */
+    private static class Chunk {
+        final List<Airplane> airplanes = new ArrayList<>();
+        final List<ImportResult.RowError> errors = new ArrayList<>();
+    }
+
+    static ImportResult importFile(Path file) throws IOException {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean json = fileName.endsWith(".jsonl") || fileName.endsWith(".json");
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return (importLines(reader, json));
+        }
+    }
+
+    /* importLines reads the lines of a CSV (json false) or JSON lines (json true) timetable and adds its airplanes to the schedule. */
+    static ImportResult importLines(BufferedReader reader, boolean json) throws IOException {
+        ImportResult result = new ImportResult();
+        List<Airplane> added = new ArrayList<>();
+        Deque<CompletableFuture<Chunk>> parsing = new ArrayDeque<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "flight-import");
+                thread.setDaemon(true);
+                return (thread);
+            }
+        });
+        try {
+            long lineNumber = 0;
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == CHUNK_SIZE) {
+                    parsing.add(parseLater(lines, lineNumber + 1, json, pool));
+                    lineNumber = lineNumber + lines.size();
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                    if (parsing.size() >= 2 * THREADS) {
+                        add(parsing.poll().join(), result, added);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                parsing.add(parseLater(lines, lineNumber + 1, json, pool));
+            }
+            while (!parsing.isEmpty()) {
+                add(parsing.poll().join(), result, added);
+            }
+        } finally {
+            pool.shutdown();
+            /* The chunks added so far are in the schedule even if reading the file or parsing a later chunk failed, so the listeners are told
+             * about them on the way out too.
+             */
+            if (!added.isEmpty()) {
+                FlightEvents.flightsAdded(added);
+            }
+        }
+        return (result);
+    }
+
+    private static CompletableFuture<Chunk> parseLater(List<String> lines, long firstLine, boolean json, ExecutorService pool) {
+        return (CompletableFuture.supplyAsync(() -> parse(lines, firstLine, json), pool));
+    }
+
+    private static void add(Chunk chunk, ImportResult result, List<Airplane> added) {
+        if (!chunk.airplanes.isEmpty()) {
+            Manager.addEntries(chunk.airplanes);
+            added.addAll(chunk.airplanes);
+            result.imported = result.imported + chunk.airplanes.size();
+        }
+        result.errors.addAll(chunk.errors);
+    }
+
+    private static Chunk parse(List<String> lines, long firstLine, boolean json) {
+        Chunk chunk = new Chunk();
+        for (int i = 0; i < lines.size(); i++) {
+            long lineNumber = firstLine + i;
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#") || (!json && lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            try {
+                chunk.airplanes.add(toAirplane(json ? parseJson(line) : parseCsv(line)));
+            } catch (RuntimeException e) {
+                chunk.errors.add(new ImportResult.RowError(lineNumber, e.getMessage() != null ? e.getMessage() : e.toString()));
+            }
+        }
+        return (chunk);
+    }
+
+    private static boolean isHeader(String line) {
+        return (line.toLowerCase(Locale.ROOT).startsWith(COLUMNS[0] + ","));
+    }
+
+    /* toAirplane checks the columns of one row and makes its Airplane. Anything wrong throws an IllegalArgumentException that says what. */
+    static Airplane toAirplane(Map<String, String> row) {
+        String name = text(row, "name");
+        String type = text(row, "type");
+        String origin = text(row, "origin");
+        String destination = text(row, "destination");
+        int capacity;
+        double price;
+        try {
+            capacity = Integer.parseInt(text(row, "capacity"));
+            price = Double.parseDouble(text(row, "price"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("capacity must be a whole number and price a number.");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be more than 0.");
+        }
+        if (price < 0 || Double.isNaN(price) || Double.isInfinite(price)) {
+            throw new IllegalArgumentException("price must be 0 or more.");
+        }
+        LocalDateTime arrival = time(row, "arrival");
+        LocalDateTime departure = time(row, "departure");
+        return (new Airplane(name, type, capacity, price, origin, destination, arrival.getMinute(), arrival.getHour(), arrival.getDayOfMonth(),
+                arrival.getMonthValue(), arrival.getYear(), departure.getMinute(), departure.getHour(), departure.getDayOfMonth(),
+                departure.getMonthValue(), departure.getYear()));
+    }
+
+    private static String text(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(column + " is missing.");
+        }
+        return (value.trim());
+    }
+
+    private static LocalDateTime time(Map<String, String> row, String column) {
+        try {
+            return (LocalDateTime.parse(text(row, column), DATE_TIME));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " must be a real date and time written as dd-mm-yyyy hh:mm.");
+        }
+    }
+
+    /* parseCsv splits a CSV line into the columns of COLUMNS. A column can be put in double quotes to have a comma in it ("Washington, D.C."),
+     * and two double quotes in a quoted column are one double quote.
+     */
+    static Map<String, String> parseCsv(String line) {
+        List<String> fields = new ArrayList<>(COLUMNS.length);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("a quote is not closed.");
+        }
+        fields.add(field.toString());
+        if (fields.size() != COLUMNS.length) {
+            throw new IllegalArgumentException("expected " + COLUMNS.length + " columns but found " + fields.size() + ".");
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            row.put(COLUMNS[i], fields.get(i));
+        }
+        return (row);
+    }
+
+    /* parseJson reads one flat JSON object: string keys with string, number, true, false or null values. Nested objects and arrays are not
+     * needed for a timetable and are reported as errors.
+     */
+    static Map<String, String> parseJson(String line) {
+        Map<String, String> row = new HashMap<>();
+        int[] at = { skipSpaces(line, 0) };
+        expect(line, at, '{');
+        if (peek(line, at) == '}') {
+            at[0]++;
+        } else {
+            while (true) {
+                String key = readString(line, at);
+                expect(line, at, ':');
+                char first = peek(line, at);
+                String value;
+                if (first == '"') {
+                    value = readString(line, at);
+                } else if (first == '{' || first == '[') {
+                    throw new IllegalArgumentException("the value of " + key + " must be a string or a number.");
+                } else {
+                    int start = at[0];
+                    while (at[0] < line.length() && line.charAt(at[0]) != ',' && line.charAt(at[0]) != '}') {
+                        at[0]++;
+                    }
+                    value = line.substring(start, at[0]).trim();
+                    if (value.equals("null")) {
+                        value = null;
+                    }
+                }
+                row.put(key, value);
+                char next = peek(line, at);
+                at[0]++;
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw new IllegalArgumentException("expected , or } at column " + at[0] + ".");
+                }
+            }
+        }
+        if (skipSpaces(line, at[0]) != line.length()) {
+            throw new IllegalArgumentException("there is text after the end of the object.");
+        }
+        return (row);
+    }
+
+    private static String readString(String line, int[] at) {
+        expect(line, at, '"');
+        StringBuilder text = new StringBuilder();
+        while (at[0] < line.length()) {
+            char c = line.charAt(at[0]++);
+            if (c == '"') {
+                return (text.toString());
+            }
+            if (c == '\\' && at[0] < line.length()) {
+                char escaped = line.charAt(at[0]++);
+                switch (escaped) {
+                    case 'n':
+                        text.append('\n');
+                        break;
+                    case 't':
+                        text.append('\t');
+                        break;
+                    case 'u':
+                        if (at[0] + 4 > line.length()) {
+                            throw new IllegalArgumentException("a \\u escape is cut off.");
+                        }
+                        try {
+                            text.append((char) Integer.parseInt(line.substring(at[0], at[0] + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("a \\u escape is not a number.");
+                        }
+                        at[0] = at[0] + 4;
+                        break;
+                    default:
+                        text.append(escaped);
+                }
+            } else {
+                text.append(c);
+            }
+        }
+        throw new IllegalArgumentException("a string is not closed.");
+    }
+
+    private static void expect(String line, int[] at, char expected) {
+        if (peek(line, at) != expected) {
+            throw new IllegalArgumentException("expected " + expected + " at column " + (at[0] + 1) + ".");
+        }
+        at[0]++;
+    }
+
+    /* peek skips the spaces and returns the next character without reading it, or 0 at the end of the line. */
+    private static char peek(String line, int[] at) {
+        at[0] = skipSpaces(line, at[0]);
+        return (at[0] < line.length() ? line.charAt(at[0]) : 0);
+    }
+
+    private static int skipSpaces(String line, int from) {
+        int at = from;
+        while (at < line.length() && Character.isWhitespace(line.charAt(at))) {
+            at++;
+        }
+        return (at);
+    }
+}
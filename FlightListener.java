@@ -0,0 +1,44 @@
+import java.util.List;
+
+/* FlightListener is the observer interface of the booking core. Anything that wants to react to changes in the schedule or in the seats of an
+ * airplane (the JavaFX GUI, a log, a server pushing updates to kiosks, etc.) implements it and registers itself with FlightEvents.addListener.
+ *
+ * Every method has an empty default body so that a listener only overrides the events it is interested in.
+ *
+ * IMPORTANT: The methods are called on the thread that made the change. For seatBooked and priceChanged this is usually a BookingService thread
+ * and for an expired hold it is the HoldTimer thread. A listener must return quickly and must NOT assume it is running on the Application thread of JavaFX. The GUI listener hands the work over with Platform.runLater.
+ */
+interface FlightListener {
+    default void flightAdded(Airplane airplane) {
+    }
+
+    /* flightsAdded is called ONCE for many airplanes added together (see FlightImport). By default it calls flightAdded for each of them,
+     * a listener that can handle them all at once overrides it.
+     */
+    default void flightsAdded(List<Airplane> airplanes) {
+        for (Airplane airplane : airplanes) {
+            flightAdded(airplane);
+        }
+    }
+
+    default void flightRemoved(Airplane airplane) {
+    }
+
+    default void flightDeparted(Airplane airplane) {
+    }
+
+    default void seatBooked(Airplane airplane, Seat seat) {
+    }
+
+    default void priceChanged(Airplane airplane, double seatPrice) {
+    }
+
+    /* seatHeld is called when a seat is held for a traveller (see SeatHold). seatReleased is called when a seat is freed again: a held seat whose
+     * hold was released or has expired, or a booked seat that was cancelled. When a hold is confirmed, seatBooked is called for each of its seats.
+     */
+    default void seatHeld(Airplane airplane, Seat seat) {
+    }
+
+    default void seatReleased(Airplane airplane, Seat seat) {
+    }
+}
@@ -0,0 +1,104 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.ToDoubleFunction;
+
+/* FlightOrder keeps the airplanes of the schedule sorted by one number, for example their departure time or their seat price, so that the GUI can show
+ * them one page at a time without sorting (or even looking at) the whole schedule.
+ *
+ * Every airplane is an Entry in a ConcurrentSkipListSet, ordered by its number (value) and then by its id, so no two entries are ever equal.
+ * A page is asked for with the Entry it starts after (keyset pagination). Finding that place is O(log n) and the page is then read in order,
+ * so getting a page costs the same whether it is the first page or the ten thousandth, and whether the schedule has a hundred or a million airplanes.
+ *
+ * The number of an airplane can change (its price goes up when seats are sold). update takes the old Entry out and puts a new one in. The Entry of every
+ * airplane is remembered in 'current', and the change is made inside current.compute so that two threads updating the same airplane can't
+ * leave two entries behind. An airplane that was removed is never put back by a late update (computeIfPresent).
+ */
+class FlightOrder {
+    /* An Entry is an airplane with the number it was sorted by. It is also the cursor of a page: the next page starts after it. */
+    static class Entry implements Comparable<Entry> {
+        final double value;
+        final long id;
+        final Airplane airplane;
+
+        Entry(double value, Airplane airplane) {
+            this.value = value;
+            this.id = airplane.id;
+            this.airplane = airplane;
+        }
+
+        public int compareTo(Entry other) {
+            int byValue = Double.compare(value, other.value);
+            return (byValue != 0 ? byValue : Long.compare(id, other.id));
+        }
+    }
+
+    final String name;
+    private final ToDoubleFunction<Airplane> key;
+    private final NavigableSet<Entry> sorted = new ConcurrentSkipListSet<>();
+    private final Map<Airplane, Entry> current = new ConcurrentHashMap<>();
+
+    /* key is read inside current.compute, so it must only read the airplane. If it changed something that a FlightListener hears about, the
+     * listener could call update for the same airplane inside its own compute, which ConcurrentHashMap doesn't allow.
+     */
+    FlightOrder(String name, ToDoubleFunction<Airplane> key) {
+        this.name = name;
+        this.key = key;
+    }
+
+    void add(Airplane airplane) {
+        current.compute(airplane, (a, old) -> {
+            if (old != null) {
+                sorted.remove(old);
+            }
+            Entry entry = new Entry(key.applyAsDouble(a), a);
+            sorted.add(entry);
+            return (entry);
+        });
+    }
+
+    /* update sorts the airplane again after its number changed. Nothing is done if the number is still the same or the airplane is not in the order. */
+    void update(Airplane airplane) {
+        current.computeIfPresent(airplane, (a, old) -> {
+            double value = key.applyAsDouble(a);
+            if (value == old.value) {
+                return (old);
+            }
+            sorted.remove(old);
+            Entry entry = new Entry(value, a);
+            sorted.add(entry);
+            return (entry);
+        });
+    }
+
+    void remove(Airplane airplane) {
+        current.computeIfPresent(airplane, (a, old) -> {
+            sorted.remove(old);
+            return (null);
+        });
+    }
+
+    /* page returns at most 'size' entries that come after 'after' in this order, or the first ones if after is null.
+     * One more entry is read to know if there is a page after this one (FlightPage.hasNext).
+     */
+    FlightPage page(Entry after, int size) {
+        NavigableSet<Entry> rest = (after == null) ? sorted : sorted.tailSet(after, false);
+        List<Entry> entries = new ArrayList<>(size);
+        boolean hasNext = false;
+        for (Entry entry : rest) {
+            if (entries.size() == size) {
+                hasNext = true;
+                break;
+            }
+            entries.add(entry);
+        }
+        return (new FlightPage(entries, after, hasNext));
+    }
+
+    int size() {
+        return (current.size());
+    }
+}
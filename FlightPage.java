@@ -0,0 +1,24 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/* FlightPage is one page of airplanes returned by FlightOrder.page.
+ * (List<Airplane>) airplanes are the airplanes of the page in order.
+ * (FlightOrder.Entry) after is the cursor the page was asked for with (null for the first page) and last is the cursor to ask for the next page with.
+ * (boolean) hasNext is true if there is at least one more airplane after this page.
+ */
+class FlightPage {
+    final List<Airplane> airplanes;
+    final FlightOrder.Entry after;
+    final FlightOrder.Entry last;
+    final boolean hasNext;
+
+    FlightPage(List<FlightOrder.Entry> entries, FlightOrder.Entry after, boolean hasNext) {
+        this.airplanes = new ArrayList<>(entries.size());
+        for (FlightOrder.Entry entry : entries) {
+            airplanes.add(entry.airplane);
+        }
+        this.after = after;
+        this.last = entries.isEmpty() ? after : entries.get(entries.size() - 1);
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,89 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/* FlightStore holds the airplanes of the schedule. It replaces the List schedule, the List scheduleList and the top counter that Schedule used to keep
+ * in step by hand.
+ *
+ * The airplanes are kept in an array that is NEVER changed once it is stored (copy on write). To add or remove airplanes, a writer makes a new array
+ * with the change and then swaps it in with one volatile write. The writers take the lock of the FlightStore, so only one change is made at a time
+ * and no change is lost.
+ *
+ * Readers don't take any lock. snapshot reads the array once and gets a List of it that can't be changed. Whatever the writers do afterwards, that
+ * snapshot stays the same, so a reader never sees half a change and an admin adding or deleting airplanes never makes a search wait.
+ * A change costs O(n) to copy the array, which is fine for the rare changes of the schedule. addAll and removeAll change many airplanes with one copy.
+ */
+class FlightStore {
+    private volatile Airplane[] flights = new Airplane[0];
+
+    /* snapshot returns the schedule as it is right now. The list can't be changed and doesn't change. */
+    List<Airplane> snapshot() {
+        return (Collections.unmodifiableList(Arrays.asList(flights)));
+    }
+
+    int size() {
+        return (flights.length);
+    }
+
+    boolean isEmpty() {
+        return (flights.length == 0);
+    }
+
+    /* indexOf returns the index of the airplane in the schedule, or -1. */
+    int indexOf(Airplane airplane) {
+        Airplane[] current = flights;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == airplane) {
+                return (i);
+            }
+        }
+        return (-1);
+    }
+
+    synchronized void add(Airplane airplane) {
+        Airplane[] next = Arrays.copyOf(flights, flights.length + 1);
+        next[flights.length] = airplane;
+        flights = next;
+    }
+
+    synchronized void addAll(Collection<Airplane> airplanes) {
+        Airplane[] next = Arrays.copyOf(flights, flights.length + airplanes.size());
+        int i = flights.length;
+        for (Airplane airplane : airplanes) {
+            next[i++] = airplane;
+        }
+        flights = next;
+    }
+
+    /* remove takes the airplane out of the schedule. It returns false if the airplane was not in it. */
+    synchronized boolean remove(Airplane airplane) {
+        return (!removeAll(Collections.singletonList(airplane)).isEmpty());
+    }
+
+    /* removeAll takes all the given airplanes out of the schedule with one copy of the array. It returns the ones that really were in it, in the
+     * order of the schedule.
+     */
+    synchronized List<Airplane> removeAll(Collection<Airplane> airplanes) {
+        Set<Airplane> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(airplanes);
+        Airplane[] current = flights;
+        Airplane[] next = new Airplane[current.length];
+        List<Airplane> removed = new ArrayList<>();
+        int kept = 0;
+        for (Airplane airplane : current) {
+            if (gone.contains(airplane)) {
+                removed.add(airplane);
+            } else {
+                next[kept++] = airplane;
+            }
+        }
+        if (!removed.isEmpty()) {
+            flights = Arrays.copyOf(next, kept);
+        }
+        return (removed);
+    }
+}
@@ -0,0 +1,56 @@
+/* GroupRequest is one booking request of a traveller for SEVERAL seats of the same airplane, like a family or a tour group. Either every seat of
+ * the group is booked or none of them is, so a group can never end up half-seated because another traveller grabbed a seat in the middle.
+ *
+ * There are two kinds of group requests:
+ * - positions is given: the group wants exactly these seats. They are claimed with SeatInventory.claimAll.
+ * - positions is null: the group wants 'count' seats next to each other in a row, wherever they are. They are claimed with SeatFinder.claimBlock.
+ *
+ * Once the seats are claimed, the whole group is sold in ONE step of the PricingEngine. Every seat of the group costs the price quoted at that
+ * moment, the traveller is charged once and the price curve moves past all the seats of the group at once.
+ */
+class GroupRequest {
+    Traveller traveller;
+    int[] positions;
+    int count;
+
+    GroupRequest(Traveller traveller, int[] positions) {
+        this.traveller = traveller;
+        this.positions = positions;
+        this.count = positions.length;
+    }
+
+    GroupRequest(Traveller traveller, int count) {
+        this.traveller = traveller;
+        this.positions = null;
+        this.count = count;
+    }
+
+    BookingResult process() {
+        Airplane airplane = traveller.airplane;
+        if (count <= 0) {
+            return (new BookingResult(false, new Seat[0], 0, "Enter the number of seats to book."));
+        }
+        int[] claimed = positions;
+        if (positions != null) {
+            if (!airplane.inventory.claimAll(positions)) {
+                return (new BookingResult(false, new Seat[0], 0, "Some of the seats are already booked."));
+            }
+        } else {
+            claimed = SeatFinder.claimBlock(airplane, count, null);
+            if (claimed == null) {
+                return (new BookingResult(false, new Seat[0], 0, "No " + count + " seats together are free."));
+            }
+        }
+        double price = airplane.pricing.sell(claimed.length).price;
+        Seat[] seats = new Seat[claimed.length];
+        synchronized (traveller) {
+            traveller.totalCost = traveller.totalCost + price * claimed.length;
+        }
+        for (int i = 0; i < claimed.length; i++) {
+            seats[i] = airplane.seats[claimed[i]];
+            seats[i].seatPrice = price;
+            seats[i].assignTo(airplane, traveller);
+        }
+        return (new BookingResult(true, seats, price * claimed.length, claimed.length + " seats successfully booked."));
+    }
+}
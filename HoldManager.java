@@ -0,0 +1,168 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/* HoldManager places, confirms, releases and expires SeatHolds. Like BookingService, every member is static because there is only ONE booking core.
+ *
+ * Like a booking, a hold must be let in by the AdmissionControl of the airplane first. A hold that is turned away returns null like a hold of seats
+ * that are already taken.
+ *
+ * Holding is a single claim on the SeatInventory (no lock, no waiting) so it is done straight away on the calling thread. The held seats are sold
+ * through the PricingEngine straight away, that is the price locked in the hold. If the hold is released or expires, the seats are returned to the
+ * PricingEngine too. The hold is then handed to the HoldTimer, which calls expire when it runs out.
+ *
+ * confirm, release and expire all start with compareAndSet on the state of the hold. Only one of them can ever win for a hold, so a seat can never be
+ * both sold to the traveller and given back to the inventory.
+ */
+class HoldManager {
+    static final long CHECKOUT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final RequestCache<SeatHold> requests = new RequestCache<>(RequestCache.DEFAULT_CAPACITY,
+            RequestCache.DEFAULT_TTL_MILLIS, hold -> hold != null);
+
+    /* hold with a request id is idempotent. A repeat of the same id (like a double click on a seat) returns the hold of the first request.
+     * A null is NOT remembered, like a BookingResult that says "try again": the first request may have been turned away by the AdmissionControl
+     * only because the flight was busy, and the retry must get its own chance. Trying again after seats that were taken holds nothing twice.
+     * A null id means the caller doesn't need the request to be idempotent.
+     */
+    static SeatHold hold(Traveller traveller, int[] positions, long ttlMillis, String requestId) {
+        if (requestId == null) {
+            return (hold(traveller, positions, ttlMillis));
+        }
+        return (requests.run(requestId, () -> CompletableFuture.completedFuture(hold(traveller, positions, ttlMillis))).join());
+    }
+
+    static SeatHold holdTogether(Traveller traveller, int count, long ttlMillis, String requestId) {
+        if (requestId == null) {
+            return (holdTogether(traveller, count, ttlMillis));
+        }
+        return (requests.run(requestId, () -> CompletableFuture.completedFuture(holdTogether(traveller, count, ttlMillis))).join());
+    }
+
+    /* hold holds exactly the seats at the given positions, all of them or none of them. It returns null if some of them are already taken. */
+    static SeatHold hold(Traveller traveller, int[] positions, long ttlMillis) {
+        Airplane airplane = traveller.airplane;
+        if (airplane.admission.admit(positions.length) != null) {
+            return (null);
+        }
+        try {
+            if (!airplane.inventory.holdAll(positions)) {
+                return (null);
+            }
+            return (start(airplane, traveller, positions.clone(), ttlMillis));
+        } finally {
+            airplane.admission.done(positions.length);
+        }
+    }
+
+    /* holdTogether holds any 'count' free seats next to each other in a row (see SeatFinder). It returns null if there is no such block of seats. */
+    static SeatHold holdTogether(Traveller traveller, int count, long ttlMillis) {
+        Airplane airplane = traveller.airplane;
+        if (count <= 0) {
+            return (null);
+        }
+        if (airplane.admission.admit(count) != null) {
+            return (null);
+        }
+        try {
+            int[] positions = SeatFinder.holdBlock(airplane, count, null);
+            if (positions == null) {
+                return (null);
+            }
+            return (start(airplane, traveller, positions, ttlMillis));
+        } finally {
+            airplane.admission.done(count);
+        }
+    }
+
+    private static SeatHold start(Airplane airplane, Traveller traveller, int[] positions, long ttlMillis) {
+        SeatHold hold = new SeatHold(airplane, traveller, positions, airplane.pricing.sell(positions.length).price,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+        synchronized (traveller) {
+            traveller.holds.add(hold);
+        }
+        for (int i = 0; i < positions.length; i++) {
+            FlightEvents.seatHeld(airplane, airplane.seats[positions[i]]);
+        }
+        HoldTimer.schedule(hold);
+        return (hold);
+    }
+
+    /* confirm books the held seats at the price locked in the hold. It returns false if the hold is not active anymore. A hold that has run out
+     * but that the timer hasn't reached yet is expired here instead of being confirmed.
+     */
+    static boolean confirm(SeatHold hold) {
+        if (System.nanoTime() - hold.deadline >= 0) {
+            expire(hold);
+            return (false);
+        }
+        if (!hold.state.compareAndSet(SeatHold.ACTIVE, SeatHold.CONFIRMED)) {
+            return (false);
+        }
+        Airplane airplane = hold.airplane;
+        Traveller traveller = hold.traveller;
+        airplane.inventory.confirmHeld(hold.positions);
+        synchronized (traveller) {
+            traveller.holds.remove(hold);
+            traveller.totalCost = traveller.totalCost + hold.total();
+        }
+        for (int i = 0; i < hold.positions.length; i++) {
+            Seat seat = airplane.seats[hold.positions[i]];
+            seat.seatPrice = hold.seatPrice;
+            seat.assignTo(airplane, traveller);
+        }
+        return (true);
+    }
+
+    static boolean release(SeatHold hold) {
+        if (!hold.state.compareAndSet(SeatHold.ACTIVE, SeatHold.RELEASED)) {
+            return (false);
+        }
+        free(hold);
+        return (true);
+    }
+
+    /* expire is called by the HoldTimer when the hold runs out. */
+    static boolean expire(SeatHold hold) {
+        if (!hold.state.compareAndSet(SeatHold.ACTIVE, SeatHold.EXPIRED)) {
+            return (false);
+        }
+        free(hold);
+        return (true);
+    }
+
+    /* confirmAll confirms every hold of the traveller and returns how many of them could NOT be confirmed because they had expired. */
+    static int confirmAll(Traveller traveller) {
+        int lost = 0;
+        for (SeatHold hold : holdsOf(traveller)) {
+            if (!confirm(hold)) {
+                lost++;
+            }
+        }
+        return (lost);
+    }
+
+    static void releaseAll(Traveller traveller) {
+        for (SeatHold hold : holdsOf(traveller)) {
+            release(hold);
+        }
+    }
+
+    private static List<SeatHold> holdsOf(Traveller traveller) {
+        synchronized (traveller) {
+            return (new ArrayList<>(traveller.holds));
+        }
+    }
+
+    private static void free(SeatHold hold) {
+        Airplane airplane = hold.airplane;
+        synchronized (hold.traveller) {
+            hold.traveller.holds.remove(hold);
+        }
+        airplane.inventory.releaseHeld(hold.positions);
+        airplane.pricing.returned(hold.positions.length);
+        for (int i = 0; i < hold.positions.length; i++) {
+            FlightEvents.seatReleased(airplane, airplane.seats[hold.positions[i]]);
+        }
+    }
+}
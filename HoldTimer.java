@@ -0,0 +1,98 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/* HoldTimer expires every SeatHold that runs out. It does NOT use a thread (or a sleeping task) per hold. With millions of holds that would be
+ * millions of threads. Instead it is a hashed timing wheel run by ONE daemon thread:
+ *
+ * The wheel is an array of WHEEL_SIZE buckets. The thread moves to the next bucket every TICK_MILLIS milliseconds and goes round and round.
+ * A hold that runs out 'n' ticks from now is put in bucket (currentTick + n) mod WHEEL_SIZE. If n is bigger than the wheel, the hold also remembers
+ * how many more full rounds (rounds) it has to wait. When the thread visits a bucket, it expires the holds whose rounds is 0 and counts down the rest.
+ *
+ * So adding a hold is O(1), every tick only looks at one bucket and a hold is touched at most once per round (4096 * 100ms, almost 7 minutes).
+ * A 10 minute hold is touched twice in its whole life.
+ *
+ * Holds are handed over to the timer thread through a ConcurrentLinkedQueue. Only the timer thread ever touches the wheel, so the wheel needs no lock.
+ * A hold that was confirmed or released before it runs out is NOT taken out of its bucket. It simply is no longer ACTIVE and is dropped the next
+ * time its bucket is visited.
+ */
+class HoldTimer {
+    static final long TICK_MILLIS = 100;
+    static final int WHEEL_SIZE = 4096;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+
+    private static final ConcurrentLinkedQueue<SeatHold> incoming = new ConcurrentLinkedQueue<>();
+    private static final SeatHold[] wheel = new SeatHold[WHEEL_SIZE];
+    private static final long startTime = System.nanoTime();
+    private static long tick = 0;
+
+    static {
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                runWheel();
+            }
+        }, "hold-timer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    static void schedule(SeatHold hold) {
+        incoming.add(hold);
+    }
+
+    private static void runWheel() {
+        while (true) {
+            long sleep = startTime + (tick + 1) * TICK_NANOS - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            addIncoming();
+            expireBucket((int) (tick & MASK));
+            tick++;
+        }
+    }
+
+    /* addIncoming puts every new hold in its bucket. A hold that has already run out goes into the bucket of the current tick. */
+    private static void addIncoming() {
+        SeatHold hold;
+        while ((hold = incoming.poll()) != null) {
+            if (!hold.isActive()) {
+                continue;
+            }
+            long expiryTick = Math.max(tick, (hold.deadline - startTime + TICK_NANOS - 1) / TICK_NANOS);
+            hold.rounds = (expiryTick - tick) / WHEEL_SIZE;
+            int bucket = (int) (expiryTick & MASK);
+            hold.next = wheel[bucket];
+            wheel[bucket] = hold;
+        }
+    }
+
+    private static void expireBucket(int bucket) {
+        SeatHold hold = wheel[bucket];
+        SeatHold kept = null;
+        while (hold != null) {
+            SeatHold next = hold.next;
+            if (!hold.isActive()) {
+                hold.next = null;
+            } else if (hold.rounds > 0) {
+                hold.rounds--;
+                hold.next = kept;
+                kept = hold;
+            } else {
+                hold.next = null;
+                try {
+                    HoldManager.expire(hold);
+                } catch (RuntimeException e) {
+                    /* A listener that fails must not stop the timer, or no hold would ever expire again. */
+                    e.printStackTrace();
+                }
+            }
+            hold = next;
+        }
+        wheel[bucket] = kept;
+    }
+}
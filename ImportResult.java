@@ -0,0 +1,30 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/* ImportResult is what FlightImport returns after reading a file.
+ * (int) imported is the number of airplanes added to the schedule.
+ * (List<RowError>) errors has every row that was NOT added, with its line number in the file and what was wrong with it. A bad row never stops the import.
+ */
+class ImportResult {
+    /* A RowError is one row of the file that could not be added. */
+    static class RowError {
+        final long line;
+        final String message;
+
+        RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public String toString() {
+            return ("Line " + line + ": " + message);
+        }
+    }
+
+    int imported;
+    final List<RowError> errors = new ArrayList<>();
+
+    public String toString() {
+        return (imported + " flights imported, " + errors.size() + " rows with errors.");
+    }
+}
@@ -0,0 +1,53 @@
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/* ItineraryLocks are the locks an ItineraryRequest takes on its flights while it claims the seats of every leg. Instead of one lock per airplane
+ * (which we would have to make and forget as airplanes come and go) there is a fixed array of STRIPES locks and an airplane uses the lock
+ * at (airplane.id mod STRIPES). Two airplanes can share a stripe, that only means their itineraries wait for each other a little more often.
+ *
+ * DEADLOCKS: if one itinerary locked flight A and then wanted B while another locked B and then wanted A, both would wait forever. So every
+ * itinerary takes its stripes in the SAME global order, from the lowest stripe number to the highest, and takes each stripe only once.
+ * Whoever gets the lowest shared stripe first can always get all the others.
+ *
+ * Single seats, holds and groups never take these locks, they only use the lock-free SeatInventory. The locks only keep overlapping itineraries
+ * from grabbing one leg each and then both having to give everything back.
+ */
+class ItineraryLocks {
+    static final int STRIPES = 256;
+    private static final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /* stripesOf returns the stripe numbers of the airplanes, sorted and without repeats. */
+    static int[] stripesOf(Airplane[] airplanes) {
+        int[] stripes = new int[airplanes.length];
+        for (int i = 0; i < airplanes.length; i++) {
+            stripes[i] = (int) (airplanes[i].id & (STRIPES - 1));
+        }
+        Arrays.sort(stripes);
+        int distinct = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            if (distinct == 0 || stripes[distinct - 1] != stripes[i]) {
+                stripes[distinct++] = stripes[i];
+            }
+        }
+        return (Arrays.copyOf(stripes, distinct));
+    }
+
+    static void lockAll(int[] stripes) {
+        for (int i = 0; i < stripes.length; i++) {
+            locks[stripes[i]].lock();
+        }
+    }
+
+    /* The stripes are unlocked in the opposite order they were locked in. */
+    static void unlockAll(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/* ItineraryRequest is one booking request of a traveller for a journey of SEVERAL flights, like a connection through a hub. Either every leg is
+ * booked or none of them is, so a passenger can never end up with the first flight but not the connecting one.
+ *
+ * legs are the airplanes of the journey in the order they are flown.
+ * - positions is given: positions[i] are exactly the seats wanted on legs[i].
+ * - positions is null: 'count' seats are wanted on every leg, wherever they are free (count is the number of passengers).
+ *
+ * process() takes the ItineraryLocks of all the legs (always in the same global order so two itineraries can't deadlock), then claims the seats leg
+ * by leg. If a leg can't be claimed, the legs claimed before it are given back and nothing is booked. The same is done when claiming a leg throws
+ * (a position that is not on the airplane, or a seat asked for twice): the legs claimed before it are given back and then the exception is passed
+ * on, so a wrong request never leaves seats claimed that nobody will ever book. Once every leg is claimed the locks are let go
+ * straight away. Pricing and filling in the seats happen after that, as the seats are already ours, so the locks are held for as short as possible.
+ * Each leg is then sold through its own PricingEngine and the traveller is charged once for the whole journey.
+ */
+class ItineraryRequest {
+    Traveller traveller;
+    Airplane[] legs;
+    int[][] positions;
+    int count;
+
+    ItineraryRequest(Traveller traveller, Airplane[] legs, int[][] positions) {
+        this.traveller = traveller;
+        this.legs = legs;
+        this.positions = positions;
+        this.count = 0;
+    }
+
+    ItineraryRequest(Traveller traveller, Airplane[] legs, int count) {
+        this.traveller = traveller;
+        this.legs = legs;
+        this.positions = null;
+        this.count = count;
+    }
+
+    BookingResult process() {
+        if (legs.length == 0 || (positions == null && count <= 0) || (positions != null && positions.length != legs.length)) {
+            return (new BookingResult(false, new Seat[0], 0, "Choose the flights and the seats of the journey."));
+        }
+        for (int i = 0; i < legs.length; i++) {
+            if (positions != null && positions[i] == null) {
+                return (new BookingResult(false, new Seat[0], 0, "Choose the seats on " + legs[i].name + "."));
+            }
+            for (int j = i + 1; j < legs.length; j++) {
+                if (legs[i] == legs[j]) {
+                    return (new BookingResult(false, new Seat[0], 0, legs[i].name + " is in the journey twice."));
+                }
+            }
+        }
+        int[][] claimed = new int[legs.length][];
+        int[] stripes = ItineraryLocks.stripesOf(legs);
+        ItineraryLocks.lockAll(stripes);
+        try {
+            for (int i = 0; i < legs.length; i++) {
+                try {
+                    if (positions != null) {
+                        if (legs[i].inventory.claimAll(positions[i])) {
+                            claimed[i] = positions[i];
+                        }
+                    } else {
+                        claimed[i] = legs[i].inventory.claimAny(count);
+                    }
+                } catch (RuntimeException e) {
+                    releaseClaimed(claimed, i);
+                    throw e;
+                }
+                if (claimed[i] == null) {
+                    releaseClaimed(claimed, i);
+                    return (new BookingResult(false, new Seat[0], 0, "Not enough seats on " + legs[i].name + "."));
+                }
+            }
+        } finally {
+            ItineraryLocks.unlockAll(stripes);
+        }
+        int seatCount = 0;
+        for (int i = 0; i < legs.length; i++) {
+            seatCount = seatCount + claimed[i].length;
+        }
+        Seat[] seats = new Seat[seatCount];
+        double total = 0;
+        int next = 0;
+        for (int i = 0; i < legs.length; i++) {
+            double price = legs[i].pricing.sell(claimed[i].length).price;
+            total = total + price * claimed[i].length;
+            for (int j = 0; j < claimed[i].length; j++) {
+                seats[next] = legs[i].seats[claimed[i][j]];
+                seats[next].seatPrice = price;
+                next++;
+            }
+        }
+        synchronized (traveller) {
+            traveller.totalCost = traveller.totalCost + total;
+        }
+        next = 0;
+        for (int i = 0; i < legs.length; i++) {
+            for (int j = 0; j < claimed[i].length; j++) {
+                seats[next].assignTo(legs[i], traveller);
+                next++;
+            }
+        }
+        return (new BookingResult(true, seats, total, "Journey of " + legs.length + " flights successfully booked."));
+    }
+
+    /* releaseClaimed gives back the seats of the legs before leg 'failed', which were claimed before that leg went wrong. */
+    private void releaseClaimed(int[][] claimed, int failed) {
+        for (int undo = 0; undo < failed; undo++) {
+            legs[undo].inventory.releaseAll(claimed[undo]);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/* LoadFactorPricing raises the price in steps as the airplane fills up. The load factor is the part of the seats that is taken (sold / capacity).
+ * loadFactors is a list of steps from low to high and multipliers has the multiplier of each step. The price is basePrice times the multiplier
+ * of the highest step that has been reached, or basePrice if none has been reached.
+ *
+ * For example loadFactors {0.5, 0.8, 0.95} and multipliers {1.2, 1.5, 2.0} charge the base price until half the seats are taken, 20% more
+ * after that, 50% more after 80% and double for the last 5% of the seats.
+ */
+class LoadFactorPricing implements PricingStrategy {
+    final double[] loadFactors;
+    final double[] multipliers;
+
+    LoadFactorPricing(double[] loadFactors, double[] multipliers) {
+        if (loadFactors.length != multipliers.length) {
+            throw new IllegalArgumentException("Every load factor needs a multiplier.");
+        }
+        this.loadFactors = loadFactors.clone();
+        this.multipliers = multipliers.clone();
+    }
+
+    public double price(double basePrice, int sold, int capacity, long millisToDeparture) {
+        double load = (capacity == 0) ? 1 : (double) sold / capacity;
+        double multiplier = 1;
+        for (int i = 0; i < loadFactors.length && load >= loadFactors[i]; i++) {
+            multiplier = multipliers[i];
+        }
+        return (basePrice * multiplier);
+    }
+}
@@ -0,0 +1,200 @@
+/* We have a class Manager that represents a manager. Every entry in this Manager is made static because we want only one manager to exist in the system.
+The manager has the ability to search through a schedule for an airplane name, delete an airplane from the schedule, set any airplane from the schedule as departed
+add an airplane into the schedule. It extends Schedule as it has access to the Schedule elements like the 
+*/
+/* The functions that change the schedule are static synchronized, so they all take the lock of the Manager class. A change of the schedule is a change
+ * of the FlightStore AND of the indexes, and the lock makes sure two changes (for example from the GUI and from the DepartureScheduler) are not mixed up.
+ * Reading the schedule never takes this lock (see FlightStore.snapshot). Bookings never take it either.
+ */
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+class Manager extends Schedule {
+    /* findEntry returns the airplane of the schedule with this name (in any case), or null if there is none. It looks the name up in the nameIndex
+     * of the Schedule, so it costs the same whether there are 3 or 100,000 airplanes in the schedule.
+     * If two airplanes have the same name, it returns the one that was added first, like searchEntry always did.
+     */
+    static Airplane findEntry(String airplane_name) {
+        return (nameIndex.get(nameKey(airplane_name)));
+    }
+
+    /* nameKey is the key of a name in the nameIndex. Locale.ROOT is used so that the lowercase of a name is the same on every computer. */
+    static String nameKey(String airplane_name) {
+        return (airplane_name.toLowerCase(Locale.ROOT));
+    }
+
+    /* searchEntry is an integer function. It takes an airplane name as parameter and returns the index of the airplane in the List schedule.
+     * It finds the airplane with findEntry and then its index in the FlightStore. If it returns -1, the airplane is not found in the schedule.
+     * If it does not, the airplane is found in the schedule. Code that only needs the airplane should call findEntry instead.
+     */
+    static int searchEntry(String airplane_name) {
+        Airplane found = findEntry(airplane_name);
+        if (found == null) {
+            return (-1);
+        }
+        return (schedule.indexOf(found));
+    }
+
+    /* deleteEntry is a boolean function that takes any airplane_name. First we initiate a success variable to false. We check if the schedule is empty
+     * or not. If the schedule is not empty, we look the airplane name up with findEntry. If the airplane is found (the reference is not null), 
+     * we remove it from the FlightStore of the schedule.
+     * The airplane is taken out of the nameIndex, the routeIndex, the query orders and the availability index. We then set the success variable to true.
+     * If the airplane had a BookingSequencer, it is stopped.
+     * FlightEvents.flightRemoved tells the listeners (like the GUI) that the airplane is not in the schedule anymore.
+     * We then return the success variable at last. If success is true, element has been deleted. If success is false, element has not been deleted either 
+     * because the schedule is empty or the element was not found.
+     */
+    static synchronized boolean deleteEntry(String airplane_name) {
+        boolean success = false;
+        if (!schedule.isEmpty()) {
+            Airplane reference = findEntry(airplane_name);
+            if (reference != null && schedule.remove(reference)) {
+                unindex(reference);
+                routeIndex.remove(reference);
+                query.remove(reference);
+                availability.remove(reference);
+                success = true;
+                reference.stopSequencer();
+                FlightEvents.flightRemoved(reference);
+            }
+        }
+        return (success);
+    }
+    /* setDeparted is a boolean function that takes any airplane. First we initiate a success variable to false. We check if the schedule is empty or not.
+     * If the schedule is not empty, we look the airplane name up with findEntry. If the airplane is found (the reference is not null),
+     * the departed of that Airplane reference is set to true to depict that the airplane has departed.
+     * The airplane is then deleted from the schedule as it has departed. We will then give this airplane object to Report.archive, which pushes it to the
+     * Report.logs (Reminder: it consists of all airplanes that have departed) and adds it to the List Report.departedFlights,
+     * and tell the listeners with FlightEvents.flightDeparted (the GUI shows departed flights in a ListView in the report scene).
+     * We then set the success variable to true
+     * We then return the success variable at last.
+     * If the success value returned by setDeparted is true, the depart process is successful and the airplane was departed.
+     * If the success value returned by setDeparted is false, the depart process was unsuccessful either because the airplane was not found in the
+     * schedule or if the schedule was empty.
+     */
+    static synchronized boolean setDeparted(String airplane_name) {
+        boolean success = false;
+        if (!schedule.isEmpty()) {
+            Airplane reference = findEntry(airplane_name);
+            if (reference != null) {
+                reference.departed = true;
+                deleteEntry(airplane_name);
+                Report.archive(Collections.singletonList(reference));
+                success = true;
+                FlightEvents.flightDeparted(reference);
+            }
+        }
+        return (success);
+    }
+    /* addEntry is a function that is used by the manager to add entries to the schedule. It takes the following parameters */
+    static synchronized void addEntry(String name, String type, int seat_capacity, double seatPrice, String origin,
+            String destination, int arrival_minute, int arrival_hour, int arrival_day, int arrival_month,
+            int arrival_year, int departure_minute, int departure_hour, int departure_day, int departure_month,
+            int departure_year) {
+        /* First we construct an Airplane object using the parameters provided. We then add this airplane object
+         * to the FlightStore of the schedule (Reminder: it has the Airplane objects in the schedule)
+         * The airplane is put in the nameIndex under its lowercase name, unless an airplane with that name is already there.
+         * It is also put in the routeIndex so it can be found by its origin, destination and times, in the query orders so it can be paged through, its origin and destination are added to the
+         * cities dictionary, and it is given to the DepartureScheduler
+         * (which only keeps it if automatic departures are turned on).
+         * At last, FlightEvents.flightAdded tells the listeners (like the GUI) about the new airplane.
+         */
+        Airplane reference = new Airplane(name, type, seat_capacity, seatPrice, origin, destination, arrival_minute,
+                arrival_hour, arrival_day, arrival_month, arrival_year, departure_minute, departure_hour, departure_day,
+                departure_month, departure_year);
+        schedule.add(reference);
+        index(reference);
+        FlightEvents.flightAdded(reference);
+    }
+
+    /* addEntries adds many airplanes that were already made (for example by FlightImport) to the schedule at once. They are added to the FlightStore
+     * with ONE copy and then put in every index like addEntry does. The listeners are NOT told here. The caller tells them once for everything
+     * it added with FlightEvents.flightsAdded, instead of once per airplane.
+     */
+    static synchronized void addEntries(List<Airplane> references) {
+        schedule.addAll(references);
+        for (Airplane reference : references) {
+            index(reference);
+        }
+    }
+
+    /* index puts a new airplane of the schedule in the nameIndex, the routeIndex, the query orders, the availability index, the cities dictionary and the DepartureScheduler. */
+    private static void index(Airplane reference) {
+        nameIndex.putIfAbsent(nameKey(reference.name), reference);
+        routeIndex.add(reference);
+        query.add(reference);
+        availability.add(reference);
+        cities.add(reference.origin);
+        cities.add(reference.destination);
+        DepartureScheduler.schedule(reference, reference.departure.getTimeInMillis());
+    }
+
+    /* departAll departs many airplanes at once. It is used by the DepartureScheduler for all the airplanes whose departure time has come.
+     * Calling setDeparted for each of them would copy the FlightStore once per airplane, which is O(n) every time.
+     * Instead FlightStore.removeAll takes all of them out with ONE copy. Airplanes that are not in the schedule anymore (deleted or departed by
+     * the manager in the meantime) are skipped.
+     * The departing airplanes are taken out of the indexes, their BookingSequencers are stopped and they are archived in the Report together.
+     * The listeners are told about every one of them like setDeparted does. It returns the number of airplanes departed.
+     */
+    static int departAll(List<Airplane> airplanes) {
+        List<Airplane> departing;
+        synchronized (Manager.class) {
+            departing = schedule.removeAll(airplanes);
+            if (departing.isEmpty()) {
+                return (0);
+            }
+            for (Airplane reference : departing) {
+                reference.departed = true;
+                routeIndex.remove(reference);
+                query.remove(reference);
+                availability.remove(reference);
+            }
+            unindexAll(departing);
+            Report.archive(departing);
+        }
+        for (Airplane reference : departing) {
+            reference.stopSequencer();
+            FlightEvents.flightRemoved(reference);
+            FlightEvents.flightDeparted(reference);
+        }
+        return (departing.size());
+    }
+
+    /* unindexAll is unindex for many airplanes. The schedule is only looked through once, for all the names that were taken out of the nameIndex. */
+    private static void unindexAll(List<Airplane> references) {
+        Set<String> removed = new HashSet<>();
+        for (Airplane reference : references) {
+            String key = nameKey(reference.name);
+            if (nameIndex.remove(key, reference)) {
+                removed.add(key);
+            }
+        }
+        if (removed.isEmpty()) {
+            return;
+        }
+        for (Airplane survivor : schedule.snapshot()) {
+            String key = nameKey(survivor.name);
+            if (removed.contains(key)) {
+                nameIndex.putIfAbsent(key, survivor);
+            }
+        }
+    }
+
+    /* unindex takes an airplane that left the schedule out of the nameIndex. If another airplane in the schedule has the same name, it takes its place
+     * in the index. Only then do we have to look through the schedule, which is already O(n) when an airplane is removed from the List.
+     */
+    private static void unindex(Airplane reference) {
+        String key = nameKey(reference.name);
+        if (nameIndex.remove(key, reference)) {
+            for (Airplane survivor : schedule.snapshot()) {
+                if (nameKey(survivor.name).equals(key)) {
+                    nameIndex.putIfAbsent(key, survivor);
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/* PriceQuote is ONE point on the price curve of an airplane. It never changes once it is made. When the price moves, the PricingEngine makes a
+ * new PriceQuote with a higher version and swaps it in.
+ * (long) version goes up by one every time the price curve moves, so two quotes with the same version always have the same price.
+ * (double) price is the price of one seat.
+ * (int) sold is the number of seats that were taken (booked or held) when the quote was made. The strategies work out the price from it.
+ * (long) validUntil is the time (System.currentTimeMillis()) until which the price stays the same if no seat is sold. Long.MAX_VALUE if only
+ * sales move the price.
+ */
+class PriceQuote {
+    final long version;
+    final double price;
+    final int sold;
+    final long validUntil;
+
+    PriceQuote(long version, double price, int sold, long validUntil) {
+        this.version = version;
+        this.price = price;
+        this.sold = sold;
+        this.validUntil = validUntil;
+    }
+
+    public String toString() {
+        return (String.format("%.2f", price));
+    }
+}
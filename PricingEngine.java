@@ -0,0 +1,106 @@
+import java.util.concurrent.atomic.AtomicReference;
+
+/* PricingEngine keeps the price curve of ONE airplane. The current PriceQuote is kept in an AtomicReference and the curve only ever moves by
+ * swapping in a new quote with compareAndSet. Nothing here takes a lock and nothing loops over the seats, so quoting a price and selling a seat are
+ * both O(1) no matter how big the airplane is.
+ *
+ * sell is the ONLY way a seat is priced. It swaps in the quote for the seats sold and returns the quote it replaced. The traveller is charged the price
+ * of that returned quote. So the price charged is always exactly the price that was quoted at the moment of the sale, even when many threads sell
+ * seats of the same airplane at the same time. (Before, the price was read before the seat was booked and another sale could slip in between.)
+ *
+ * The strategy can be changed at any time with setStrategy. The default is CompoundingPricing(1.1), 10% more for every seat sold.
+ * Every time the curve moves, the listeners are told with FlightEvents.priceChanged.
+ */
+class PricingEngine {
+    private final Airplane airplane;
+    private final double basePrice;
+    private volatile long departureMillis;
+    private volatile PricingStrategy strategy;
+    private final AtomicReference<PriceQuote> current;
+
+    /* departureMillis is copied out of the departure Calendar of the airplane once. A Calendar is not safe to read from many threads at the same time. */
+    PricingEngine(Airplane airplane, double basePrice, long departureMillis) {
+        this.airplane = airplane;
+        this.basePrice = basePrice;
+        this.departureMillis = departureMillis;
+        this.strategy = new CompoundingPricing(1.1);
+        this.current = new AtomicReference<>(make(0, 0));
+    }
+
+    /* quote returns the current price. If the strategy said the price would change by now (for example DepartureTimePricing), a new quote is made. */
+    PriceQuote quote() {
+        PriceQuote quote = current.get();
+        while (System.currentTimeMillis() >= quote.validUntil) {
+            PriceQuote next = make(quote.version + 1, quote.sold);
+            if (current.compareAndSet(quote, next)) {
+                priceMoved(quote, next);
+                return (next);
+            }
+            quote = current.get();
+        }
+        return (quote);
+    }
+
+    /* currentPrice is the price of the current quote as it is, without making a new quote if it has run out. It never tells the listeners anything,
+     * so it can be read where telling them would call back into the caller, like the sort key of a FlightOrder.
+     */
+    double currentPrice() {
+        return (current.get().price);
+    }
+
+    /* sell records that 'seats' seats were taken and returns the quote they were sold at. Every seat of one sale costs the same. */
+    PriceQuote sell(int seats) {
+        while (true) {
+            PriceQuote quote = quote();
+            PriceQuote next = make(quote.version + 1, quote.sold + seats);
+            if (current.compareAndSet(quote, next)) {
+                priceMoved(quote, next);
+                return (quote);
+            }
+        }
+    }
+
+    /* returned records that 'seats' seats came back (a hold expired or was released), so the price goes back down the curve. */
+    void returned(int seats) {
+        while (true) {
+            PriceQuote quote = quote();
+            PriceQuote next = make(quote.version + 1, Math.max(0, quote.sold - seats));
+            if (current.compareAndSet(quote, next)) {
+                priceMoved(quote, next);
+                return;
+            }
+        }
+    }
+
+    void setStrategy(PricingStrategy strategy) {
+        this.strategy = strategy;
+        while (true) {
+            PriceQuote quote = current.get();
+            PriceQuote next = make(quote.version + 1, quote.sold);
+            if (current.compareAndSet(quote, next)) {
+                priceMoved(quote, next);
+                return;
+            }
+        }
+    }
+
+    PricingStrategy getStrategy() {
+        return (strategy);
+    }
+
+    private PriceQuote make(long version, int sold) {
+        long now = System.currentTimeMillis();
+        long millisToDeparture = departureMillis - now;
+        PricingStrategy strategy = this.strategy;
+        double price = strategy.price(basePrice, sold, airplane.seats.length, millisToDeparture);
+        long validFor = strategy.validFor(millisToDeparture);
+        long validUntil = (validFor >= Long.MAX_VALUE - now) ? Long.MAX_VALUE : now + validFor;
+        return (new PriceQuote(version, price, sold, validUntil));
+    }
+
+    private void priceMoved(PriceQuote oldQuote, PriceQuote newQuote) {
+        if (oldQuote.price != newQuote.price) {
+            FlightEvents.priceChanged(airplane, newQuote.price);
+        }
+    }
+}
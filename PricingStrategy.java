@@ -0,0 +1,15 @@
+/* PricingStrategy decides what a seat of an airplane costs. The PricingEngine asks it for a new price every time the price curve moves, so a strategy
+ * must be quick (no loops over the seats) and must not change anything. It only works the price out from what it is given:
+ * (double) basePrice is the price the airplane was added with, (int) sold is the number of seats taken so far, (int) capacity is the number of
+ * seats and (long) millisToDeparture is how long it is until the airplane departs (negative if it already should have).
+ *
+ * validFor tells the engine how long the price stays the same if no seat is sold. The default is forever, which is right for every strategy that
+ * only looks at the seats. A strategy that looks at the time returns the time until its price changes next.
+ */
+interface PricingStrategy {
+    double price(double basePrice, int sold, int capacity, long millisToDeparture);
+
+    default long validFor(long millisToDeparture) {
+        return (Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,354 @@
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/* Report is a class that will consist of elements necessary to view the Departed flights, fully booked departed flights, the most frequented destination,
+ * booking time and frequented departure period. It is only for the manager to see to obtain statistics of the departed flights.
+ * Every member of the Report class is made static because all manager(s) have access to the SAME report. Change is made to this report and reflected
+ * to every manager. 
+ * 
+ * It has attributes 'logs' stack (initiated as empty) which will consist of Airplanes that are departed. Everytime a flight has departed, it gets pushed to 'logs'.
+ * 
+ * We have an attribute departedFlights which is a list of Airplane objects. This is also an empty list that will consist of Airplanes that are departed.
+ * 
+ * Everytime an airplane is departed, it gets added to logs and departedFlights. The GUI is told about it through FlightEvents.flightDeparted and keeps
+ * its own ObservableList of departed flights for the ListView in the report scene. The Report itself doesn't depend on JavaFX.
+ */
+class Report {
+    static Stack<Airplane> logs = new Stack<>();
+    static List<Airplane> departedFlights = new ArrayList<>();
+
+    /* archive adds departed airplanes to the logs and departedFlights. The DepartureScheduler archives airplanes from its own thread while the GUI may be
+     * reading the report, so archive and the functions that go through the logs are static synchronized and take the lock of the Report class.
+     */
+    static synchronized void archive(List<Airplane> airplanes) {
+        for (Airplane airplane : airplanes) {
+            logs.push(airplane);
+            departedFlights.add(airplane);
+        }
+    }
+
+    /* We also a static generic function isPresent which checks if a T element is present in a Stack<T> stack. It has a boolean variable set to false
+     * initially. It loops through the stack and anytime it finds an element, the boolean variable is set to true and breaks from the loop. The value of
+     * the boolean variable is then returned at last. If it is present, value will be true. Else, it will be false.
+     */
+    static <T> boolean isPresent(Stack<T> stack, T element) {
+        boolean present = false;
+        for (int i = 0; i <= stack.top; i++) {
+            if (stack.arr.get(i).equals(element)) {
+                present = true;
+                break;
+            }
+        }
+        return(present);
+    }
+    /* We have a static generic function countElement which counts the number of times T element appears in a Stack<T> stack. It loops through the stack.
+    Everytime it gets a match element, the count element is incremented by one. The count is then returned at last. If it isn't present, it returns 0.
+    Else it will return a nonzero postiive number.
+     */
+    static <T> int countElement(Stack<T> stack, T element) {
+        int count = 0;
+        for (int i = 0; i <= stack.top; i++) {
+            if (stack.arr.get(i).equals(element)) {
+                count++;
+            }
+        }
+        return(count);
+    }
+    /* We have a static string function getFrequentDeparturePeriod() which returns the most frequent month Flights departed in. What it does is 
+     * check if the stack of Airplane (logs) is empty. If it is not empty, it makes new Stack<Integer> months_booked and unique_months. Stack<Integer>
+     * as we want a Stack of the month numbers 1/2/3/4../12. 
+     * Now we loop through logs stack and push every departure month + 1 (Reminder: Calendar.MONTH returns a month number from 0 to 11) into months_booked.
+     * If the departure month in question is not present in unique_months, we push it into unique_months. 
+     * 
+     * We now make an integer variable max_count and initiate it to 0 and a frequent_month = 0 (represents no month yet).
+     * We will now loop through the unique_months and count the number of times a month in unique_months appears in months_booked. If this count is 
+     * greater than the max_count, we equate max_count to this count and equate the frequent_month to this month. 
+     * 
+     * At last, we get the max_count to be the maximum number of times a month appears.
+     * We get frequent_month to be the month that appears the month.
+     * 
+     * We will then initiate a "month" variable to be set to blank string. 
+     * We will use a switch statement on the frequent_month. If the frequent_month is 1, we set "month" to January.. frequent_month 2, we set "month" to February.. etc
+     * We will then return the month variable at last. This is the month airplanes frequently departed in.
+     * 
+     * If the logs stack is empty, it returns an empty string.
+    */
+    static synchronized String getFrequentDeparturePeriod() {
+        if (logs.top != -1) {
+            Stack<Integer> months_booked = new Stack<>();
+            Stack<Integer> unique_months = new Stack<>();
+            for (int i = 0; i <= logs.top; i++) {
+                months_booked.push(logs.arr.get(i).departure.get(Calendar.MONTH) + 1);
+                if (!isPresent(unique_months, logs.arr.get(i).departure.get(Calendar.MONTH) + 1)) {
+                    unique_months.push(logs.arr.get(i).departure.get(Calendar.MONTH) + 1);
+                }
+            }
+            int max_count = 0;
+            int frequent_month = 0;
+            for (int i = 0; i <= unique_months.top; i++) {
+                int count = countElement(months_booked, unique_months.arr.get(i));
+                if (count > max_count) {
+                    max_count = count;
+                    frequent_month = unique_months.arr.get(i);
+                }
+            }
+            String month = "";
+            switch (frequent_month) {
+                case 1:
+                    month = "January";
+                    break;
+                case 2:
+                    month = "February";
+                    break;
+                case 3:
+                    month = "March";
+                    break;
+                case 4:
+                    month = "April";
+                    break;
+                case 5:
+                    month = "May";
+                    break;
+                case 6:
+                    month = "June";
+                    break;
+                case 7:
+                    month = "July";
+                    break;
+                case 8:
+                    month = "August";
+                    break;
+                case 9:
+                    month = "September";
+                    break;
+                case 10:
+                    month = "October";
+                    break;
+                case 11:
+                    month = "November";
+                    break;
+                case 12:
+                    month = "December";
+                    break;
+            }
+            return(month);
+        } else {
+            return("");
+        }
+    }
+    /* We have a static string function getFrequentBookingMonth() which returns the most frequent month Flights were booked in. What it does is 
+     * check if the stack of Airplane (logs) is empty. If it is not empty, it makes new Stack<Integer> booking_months and unique_months. Stack<Integer>
+     * as we want a Stack of the month numbers 1/2/3/4../12. 
+     * Now we loop through seats of every airplane in the logs and push the booking_time month + 1 (Reminder: Calendar.MONTH returns a month number from 0 to 11) into booking_months.
+     * If the booking month in question is not present in unique_months, we push it into unique_months. 
+     * 
+     * We now make an integer variable max_count and initiate it to 0 and a frequent_month = 0 (represents no month yet).
+     * We will now loop through the unique_months and count the number of times a month in unique_months appears in months_booked. If this count is 
+     * greater than the max_count, we equate max_count to this count and equate the frequent_month to this month. 
+     * 
+     * At last, we get the max_count to be the maximum number of times a month appears.
+     * We get frequent_month to be the month that appears the month.
+     * 
+     * We will then initiate a "month" variable to be set to blank string. 
+     * We will use a switch statement on the frequent_month. If the frequent_month is 1, we set "month" to January.. frequent_month 2, we set "month" to February.. etc
+     * We will then return the month variable at last. This is the month airplanes were frequently booked in.
+     * 
+     * If the logs stack is empty, it returns an empty string.
+    */
+    static synchronized String getFrequentBookingMonth() {
+        if (logs.top != -1) {
+            Stack<Integer> booking_months = new Stack<>();
+            Stack<Integer> unique_months = new Stack<>();
+            for (int i = 0; i <= logs.top; i++) {
+                for (int j = 0; j < logs.arr.get(i).seats.length; j++) {
+                    if (logs.arr.get(i).inventory.isBooked(j)) {
+                        booking_months.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.MONTH) + 1);
+                        if (!isPresent(unique_months, logs.arr.get(i).seats[j].booking_time.get(Calendar.MONTH) + 1)) {
+                            unique_months.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.MONTH) + 1);
+                        }
+                    }
+                }
+            }
+            int max_count = 0;
+            int frequent_month = 0;
+            for (int i = 0; i <= unique_months.top; i++) {
+                int count = countElement(booking_months, unique_months.arr.get(i));
+                if (count > max_count) {
+                    max_count = count;
+                    frequent_month = unique_months.arr.get(i);
+                }
+            }
+            String month = "";
+            switch (frequent_month) {
+                case 1:
+                    month = "January";
+                    break;
+                case 2:
+                    month = "February";
+                    break;
+                case 3:
+                    month = "March";
+                    break;
+                case 4:
+                    month = "April";
+                    break;
+                case 5:
+                    month = "May";
+                    break;
+                case 6:
+                    month = "June";
+                    break;
+                case 7:
+                    month = "July";
+                    break;
+                case 8:
+                    month = "August";
+                    break;
+                case 9:
+                    month = "September";
+                    break;
+                case 10:
+                    month = "October";
+                    break;
+                case 11:
+                    month = "November";
+                    break;
+                case 12:
+                    month = "December";
+                    break;
+            }
+            return(month);
+        } else {
+            return("");
+        }
+    }
+
+    /* getFrequentBookingYear works the same as getFrequentBookingMonth but here we get Calendar.YEAR without adding any 1. This is because we get the
+     * year as it is, e.g if it is the year 2024, we get the year 2024. There's no changes needed.
+     */
+    static synchronized String getFrequentBookingYear() {
+        if (logs.top != -1) {
+            Stack<Integer> booking_years = new Stack<>();
+            Stack<Integer> unique_years = new Stack<>();
+            for (int i = 0; i <= logs.top; i++) {
+                for (int j = 0; j < logs.arr.get(i).seats.length; j++) {
+                    if (logs.arr.get(i).inventory.isBooked(j)) {
+                        booking_years.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.YEAR));
+                        if (!isPresent(unique_years, logs.arr.get(i).seats[j].booking_time.get(Calendar.YEAR))) {
+                            unique_years.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.YEAR));
+                        }
+                    }
+                }
+            }
+            int max_count = 0;
+            int frequent_year = 0;
+            for (int i = 0; i <= unique_years.top; i++) {
+                int count = countElement(booking_years, unique_years.arr.get(i));
+                if (count > max_count) {
+                    max_count = count;
+                    frequent_year = unique_years.arr.get(i);
+                }
+            }
+            return(frequent_year + "");
+        } else {
+            return("");
+        }
+    }
+
+    /* getFrequentBookingYear works the same as getFrequentBookingMonth but here we don't subtract Calendar.DAY_OF_WEEK by 1. If it is Monday, we get Day 2
+    Day 3 - Tuesday, etc. We leave it unchanged
+     */
+    static synchronized String getFrequentBookingDay() {
+        if (logs.top != -1) {
+            Stack<Integer> booking_days = new Stack<>();
+            Stack<Integer> unique_days = new Stack<>();
+            for (int i = 0; i <= logs.top; i++) {
+                for (int j = 0; j < logs.arr.get(i).seats.length; j++) {
+                    if (logs.arr.get(i).inventory.isBooked(j)) {
+                        booking_days.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.DAY_OF_WEEK));
+                        if (!isPresent(unique_days, logs.arr.get(i).seats[j].booking_time.get(Calendar.DAY_OF_WEEK))) {
+                            unique_days.push(logs.arr.get(i).seats[j].booking_time.get(Calendar.DAY_OF_WEEK));
+                        }
+                    }
+                }
+            }
+            int max_count = 0;
+            int frequent_days = 0;
+            for (int i = 0; i <= unique_days.top; i++) {
+                int count = countElement(booking_days, unique_days.arr.get(i));
+                if (count > max_count) {
+                    max_count = count;
+                    frequent_days = unique_days.arr.get(i);
+                }
+            }
+            String day = "";
+            switch (frequent_days) {
+                case 1:
+                    day = "Sunday";
+                    break;
+                case 2:
+                    day = "Monday";
+                    break;
+                case 3:
+                    day = "Tuesday";
+                    break;
+                case 4:
+                    day = "Wednesday";
+                    break;
+                case 5:
+                    day = "Thursday";
+                    break;
+                case 6:
+                    day = "Friday";
+                    break;
+                case 7:
+                    day = "Saturday";
+                    break;
+            }
+            return(day);
+        } else {
+            return("");
+        }
+    }
+    /* We have a static string function getFrequentDestination() which returns the most frequent destinations Flights were headed to. What it does is 
+     * check if the stack of Airplane (logs) is empty. If it is not empty, it makes new Stack<String> destinations_booked and unique_destinations. Stack<String>
+     * as we want a Stack of the destinations like Bangalore, Goa, Mumbai, etc. 
+     * Now we loop through the logs and push the destination of the airplane to destinations_booked
+     * If the destination in question is not present in unique_destinations, we push it into unique_destinations. 
+     * 
+     * We now make an integer variable max_count and initiate it to 0 and a frequent_destination = "" (represents no destination yet).
+     * We will now loop through the unique_destinations and count the number of times a month in unique_destinations appears in destinations_booked. If this count is 
+     * greater than the max_count, we equate max_count to this count and equate the frequent_destination to this month. 
+     * 
+     * At last, we get the max_count to be the maximum number of times a destination appears.
+     * We get frequent_destination to be the destination that appears the month.
+     * 
+     * We will then return the frequent_destination.
+     * If the logs stack is empty, it returns an empty string.
+    */
+    static synchronized String getFrequentDestination() {
+        if (logs.top != -1) {
+            Stack<String> destinations_booked = new Stack<>();
+            Stack<String> unique_destinations = new Stack<>();
+            for (int i = 0; i <= logs.top; i++) {
+                destinations_booked.push(logs.arr.get(i).destination);
+                if (!isPresent(unique_destinations, logs.arr.get(i).destination)) {
+                    unique_destinations.push(logs.arr.get(i).destination);
+                }
+            }
+            int max_count = 0;
+            String frequent_destination = "";
+            for (int i = 0; i <= unique_destinations.top; i++) {
+                int count = countElement(destinations_booked, unique_destinations.arr.get(i));
+                if (count > max_count) {
+                    max_count = count;
+                    frequent_destination = unique_destinations.arr.get(i);
+                }
+            }
+            return(frequent_destination);
+        } else {
+            return("");
+        }
+    }
+}
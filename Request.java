@@ -0,0 +1,39 @@
+/* Request is one booking request of a traveller for a seat. It used to start its own Thread in the constructor, which meant that every click on a
+ * seat created (and then destroyed) a whole platform thread. Now a Request is only the unit of work. It is handed to the BookingService, which runs
+ * it on one of its pooled threads.
+ *
+ * process() calls the book(traveller) function of the seat. If the booking is successful, the seat was priced by the PricingEngine of the airplane
+ * while it was booked (this is the dynamic pricing of the airplane) and its seatPrice is what the traveller was charged.
+ * It then returns a BookingResult describing what happened.
+ *
+ * A Request is only made by BookingService.book once the AdmissionControl of the airplane has let it in. process tells that AdmissionControl when
+ * it is done, whatever happened, so its seats stop counting as waiting.
+ */
+class Request {
+    Traveller traveller;
+    Seat seatObj;
+    AdmissionControl admission;
+
+    Request(Traveller traveller, Seat seatObj, AdmissionControl admission) {
+        this.traveller = traveller;
+        this.seatObj = seatObj;
+        this.admission = admission;
+    }
+
+    BookingResult process() {
+        try {
+            return (process(traveller, seatObj));
+        } finally {
+            admission.done(1);
+        }
+    }
+
+    /* The static version is used by the BookingSequencer, which books straight out of its ring without making a Request. */
+    static BookingResult process(Traveller traveller, Seat seatObj) {
+        if (seatObj.book(traveller) == 1) {
+            return (new BookingResult(true, seatObj, seatObj.seatPrice, seatObj.position + " successfully booked."));
+        } else {
+            return (new BookingResult(false, seatObj, 0, seatObj.position + " already booked."));
+        }
+    }
+}
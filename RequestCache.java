@@ -0,0 +1,115 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/* RequestCache makes requests idempotent. Every request carries a request id chosen by the client (a kiosk, an agent, or the GUI). The first time
+ * an id is seen, the work is started and its future is remembered under the id. If the same id comes again (a retry or a double click), the
+ * remembered future is returned instead, so the retry gets the ORIGINAL result and the work is never done twice.
+ *
+ * The ids are kept in a ConcurrentHashMap so that looking one up is O(1) and never blocks. The cache must not grow forever, so:
+ * - Every id is forgotten ttlMillis after it was first seen (a retry after that counts as a new request).
+ * - At most 'capacity' ids are kept. The ids are also put in a queue in the order they came in. When the cache is too big, or the oldest
+ *   id has expired, the oldest ids are taken off the front of the queue. This is O(1) per id and needs no lock.
+ *
+ * cacheable decides which results are remembered. A result that says "try again" (like the BookingService being too busy) must not be remembered,
+ * otherwise the retry would only get the same "try again".
+ */
+class RequestCache<V> {
+    static final int DEFAULT_CAPACITY = 100000;
+    static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    static class Entry<V> {
+        final String id;
+        final CompletableFuture<V> future;
+        final long expiresAt;
+
+        Entry(String id, CompletableFuture<V> future, long expiresAt) {
+            this.id = id;
+            this.future = future;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean expired(long now) {
+            return (now - expiresAt >= 0);
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<V>> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+    private final long ttlNanos;
+    private final Predicate<V> cacheable;
+
+    RequestCache(int capacity, long ttlMillis, Predicate<V> cacheable) {
+        this.capacity = capacity;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.cacheable = cacheable;
+    }
+
+    /* run returns the future of the request with this id. If the id is new (or its entry has expired), work is called to start the request. */
+    CompletableFuture<V> run(String id, Supplier<CompletableFuture<V>> work) {
+        long now = System.nanoTime();
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        Entry<V> entry = new Entry<>(id, mine, now + ttlNanos);
+        while (true) {
+            Entry<V> existing = entries.putIfAbsent(id, entry);
+            if (existing == null) {
+                break;
+            }
+            if (!existing.expired(now)) {
+                return (existing.future);
+            }
+            if (entries.replace(id, existing, entry)) {
+                break;
+            }
+        }
+        order.add(entry);
+        size.incrementAndGet();
+        evict(now);
+        CompletableFuture<V> started;
+        try {
+            started = work.get();
+        } catch (RuntimeException e) {
+            entries.remove(id, entry);
+            mine.completeExceptionally(e);
+            return (mine);
+        }
+        started.whenComplete((result, error) -> {
+            if (error != null || !cacheable.test(result)) {
+                entries.remove(id, entry);
+            }
+            if (error != null) {
+                mine.completeExceptionally(error);
+            } else {
+                mine.complete(result);
+            }
+        });
+        return (mine);
+    }
+
+    int size() {
+        return (entries.size());
+    }
+
+    /* evict takes ids off the front of the queue while there are too many or the oldest one has expired. An entry that was already replaced
+     * (because it expired and its id came again) is only taken off the queue, remove(id, entry) leaves the newer entry in the map.
+     */
+    private void evict(long now) {
+        while (true) {
+            Entry<V> oldest = order.peek();
+            if (oldest == null || (size.get() <= capacity && !oldest.expired(now))) {
+                return;
+            }
+            Entry<V> taken = order.poll();
+            if (taken != null) {
+                size.decrementAndGet();
+                entries.remove(taken.id, taken);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/* RouteIndex finds the airplanes of the schedule by their origin, destination and date and time of departure and arrival, without looking at every airplane.
+ * The search of the schedule scene used to call toString() of every airplane up to four times and parse the arrival time back out of the string.
+ * Now it asks the RouteIndex, which works on the fields of the airplane directly.
+ *
+ * Every airplane is put in four Routes: the route of its origin AND destination, the route of its origin only, the route of its destination only and
+ * the route of all airplanes. So whether the user types an origin, a destination, both or none, there is always exactly one Route that has
+ * all the airplanes the user is looking for and nothing else. byOrigin, byDestination and byRoute are hash maps, finding the Route is O(1).
+ * Like the nameIndex, the names of the places are kept in lowercase (see Manager.nameKey), so "delhi" finds Delhi.
+ *
+ * Each airplane is kept in a Route as a Leg, which has its departure and arrival times as numbers (milliseconds of Airplane.departsAt and arrivesAt)
+ * so they can be compared quickly. A Route keeps its Legs in two NavigableSets, one ordered by the date and time of departure and one by the date and
+ * time of arrival. Two airplanes can leave at the same time, so the Legs are ordered by their id after the time and no two of them are ever equal.
+ * Finding the airplanes between two times is then O(log n) to find the first one and O(1) for each one after it, O(log n + k) in total for k results.
+ * The times are full dates, so a search for 10:00 to 12:00 on one day doesn't find the airplanes of every other day, like the old search of the
+ * time of day did.
+ *
+ * The maps are ConcurrentHashMap and ConcurrentSkipListSet, so the GUI and the agents can search while the manager changes the schedule.
+ * Manager.addEntry adds every airplane and Manager.deleteEntry removes it again (setDeparted goes through deleteEntry).
+ *
+ * The ConnectionSearch asks for the airplanes leaving a place in a time window (departing), which is the departure order of the Route of that origin.
+ */
+class RouteIndex {
+    /* A Route is the airplanes of one origin and destination (either of them can be any). */
+    static class Route {
+        final NavigableSet<Leg> byArrival = new ConcurrentSkipListSet<>(BY_ARRIVAL);
+        final NavigableSet<Leg> byDeparture = new ConcurrentSkipListSet<>(BY_DEPARTURE);
+    }
+
+    /* A Leg is an airplane as an edge from its origin to its destination, leaving at departs and getting there at arrives. */
+    static class Leg {
+        final Airplane airplane;
+        final long id;
+        final String origin, destination;
+        final long departs, arrives;
+
+        Leg(Airplane airplane, long id, String origin, String destination, long departs, long arrives) {
+            this.airplane = airplane;
+            this.id = id;
+            this.origin = origin;
+            this.destination = destination;
+            this.departs = departs;
+            this.arrives = arrives;
+        }
+    }
+
+    private static final Comparator<Leg> BY_DEPARTURE = Comparator.<Leg>comparingLong(leg -> leg.departs).thenComparingLong(leg -> leg.id);
+    private static final Comparator<Leg> BY_ARRIVAL = Comparator.<Leg>comparingLong(leg -> leg.arrives).thenComparingLong(leg -> leg.id);
+
+    private final Map<Airplane, Leg> legs = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Route>> byRoute = new ConcurrentHashMap<>();
+    private final Map<String, Route> byOrigin = new ConcurrentHashMap<>();
+    private final Map<String, Route> byDestination = new ConcurrentHashMap<>();
+    private final Route all = new Route();
+
+    /* add puts the airplane in its four Routes. */
+    void add(Airplane airplane) {
+        String origin = Manager.nameKey(airplane.origin);
+        String destination = Manager.nameKey(airplane.destination);
+        Leg leg = new Leg(airplane, airplane.id, origin, destination, airplane.departsAt.toEpochMilli(), airplane.arrivesAt.toEpochMilli());
+        legs.put(airplane, leg);
+        Route[] routes = {
+            byRoute.computeIfAbsent(origin, o -> new ConcurrentHashMap<>()).computeIfAbsent(destination, d -> new Route()),
+            byOrigin.computeIfAbsent(origin, o -> new Route()),
+            byDestination.computeIfAbsent(destination, d -> new Route()),
+            all
+        };
+        for (Route route : routes) {
+            route.byArrival.add(leg);
+            route.byDeparture.add(leg);
+        }
+    }
+
+    /* remove takes the airplane out of its four Routes. Empty Routes are left in the maps, there is only one per place and they are used again
+     * by the next airplane of that place.
+     */
+    void remove(Airplane airplane) {
+        Leg leg = legs.remove(airplane);
+        if (leg == null) {
+            return;
+        }
+        for (Route route : routesOf(leg.origin, leg.destination)) {
+            if (route == null) {
+                continue;
+            }
+            route.byArrival.remove(leg);
+            route.byDeparture.remove(leg);
+        }
+    }
+
+    /* departing returns the legs leaving a place (already in lowercase) from departsFrom to departsTill, both included, in the order they leave. */
+    NavigableSet<Leg> departing(String origin, long departsFrom, long departsTill) {
+        Route route = byOrigin.get(origin);
+        if (route == null || departsFrom > departsTill) {
+            return (new ConcurrentSkipListSet<>(BY_DEPARTURE));
+        }
+        return (route.byDeparture.subSet(probe(departsFrom, Long.MIN_VALUE), true, probe(departsTill, Long.MAX_VALUE), true));
+    }
+
+    /* search returns the airplanes from origin to destination that depart from departsFrom to departsTill and arrive from arrivesFrom to arrivesTill
+     * (all of them included), at most limit of them. A null or empty origin or destination means any, and a null time means the search is open on
+     * that side. The airplanes are in the order they depart, unless only the arrival is asked for, then in the order they arrive.
+     *
+     * The search walks the order of the times it was given (the departure if both are given) and checks the other times on the airplanes it finds,
+     * so it costs O(log n + k) for the k airplanes in that window, and never more than limit of them are returned.
+     */
+    List<Airplane> search(String origin, String destination, Instant departsFrom, Instant departsTill, Instant arrivesFrom, Instant arrivesTill,
+            int limit) {
+        List<Airplane> found = new ArrayList<>();
+        Route route = find(origin, destination);
+        if (route == null) {
+            return (found);
+        }
+        long departsLow = departsFrom == null ? Long.MIN_VALUE : departsFrom.toEpochMilli();
+        long departsHigh = departsTill == null ? Long.MAX_VALUE : departsTill.toEpochMilli();
+        long arrivesLow = arrivesFrom == null ? Long.MIN_VALUE : arrivesFrom.toEpochMilli();
+        long arrivesHigh = arrivesTill == null ? Long.MAX_VALUE : arrivesTill.toEpochMilli();
+        if (departsLow > departsHigh || arrivesLow > arrivesHigh) {
+            return (found);
+        }
+        NavigableSet<Leg> window;
+        if (departsFrom != null || departsTill != null || (arrivesFrom == null && arrivesTill == null)) {
+            window = route.byDeparture.subSet(probe(departsLow, Long.MIN_VALUE), true, probe(departsHigh, Long.MAX_VALUE), true);
+        } else {
+            window = route.byArrival.subSet(probe(arrivesLow, Long.MIN_VALUE), true, probe(arrivesHigh, Long.MAX_VALUE), true);
+        }
+        for (Leg leg : window) {
+            if (found.size() >= limit) {
+                break;
+            }
+            if (leg.departs >= departsLow && leg.departs <= departsHigh && leg.arrives >= arrivesLow && leg.arrives <= arrivesHigh) {
+                found.add(leg.airplane);
+            }
+        }
+        return (found);
+    }
+
+    /* A probe is a Leg with no airplane that is only used to mark the start or the end of a subSet, in either order. The start probe is given the
+     * smallest id and the end probe the biggest, so every Leg at exactly that time is in the subSet.
+     */
+    private static Leg probe(long time, long id) {
+        return (new Leg(null, id, null, null, time, time));
+    }
+
+    /* find returns the one Route for this origin and destination, or null if no airplane has ever used it. */
+    private Route find(String origin, String destination) {
+        boolean anyOrigin = origin == null || origin.isEmpty();
+        boolean anyDestination = destination == null || destination.isEmpty();
+        if (anyOrigin && anyDestination) {
+            return (all);
+        }
+        if (anyDestination) {
+            return (byOrigin.get(Manager.nameKey(origin)));
+        }
+        if (anyOrigin) {
+            return (byDestination.get(Manager.nameKey(destination)));
+        }
+        Map<String, Route> destinations = byRoute.get(Manager.nameKey(origin));
+        return (destinations == null ? null : destinations.get(Manager.nameKey(destination)));
+    }
+
+    private Route[] routesOf(String origin, String destination) {
+        Map<String, Route> destinations = byRoute.get(origin);
+        return (new Route[] { destinations == null ? null : destinations.get(destination), byOrigin.get(origin), byDestination.get(destination), all });
+    }
+}
@@ -0,0 +1,57 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* Schedule class again consists of elements that keeps a record of all the airplanes that are yet to depart. Every traveller, manager has access
+ * to the SAME Schedule and thus we make every element in the Schedule class STATIC. Any change made to this schedule is reflected to every traveller and manager.
+ */
+/* It consists of the FlightStore schedule which consists of Airplane objects that are yet to depart. Initially it is made empty as we haven't added any airplane as of yet.
+ * It used to be a List together with a List of the string representation of every airplane and a top counter, which had to be kept in step by hand.
+ * The FlightStore is the one place the airplanes are kept. Any thread can read a snapshot of it without a lock while the manager changes it
+ * (see FlightStore). Everything else is worked out from it: the string of an airplane comes from its toString() and the number of airplanes from size().
+ * The GUI doesn't keep a copy of the schedule, its ListViews show pages of it (see SchedulePager).
+ * nameIndex finds an airplane of the schedule by its name in O(1). The key is the name in lowercase (see Manager.nameKey), so the search doesn't depend on
+ * the case of the name. Manager keeps it up to date whenever an airplane is added, deleted or departs. It is a ConcurrentHashMap so that any thread can look
+ * an airplane up while the manager changes the schedule.
+ * routeIndex finds the airplanes of the schedule by origin, destination and date and time of departure and arrival (see RouteIndex). Manager keeps it up to date like the nameIndex.
+ * query keeps the schedule sorted by departure, price and load factor so the GUI can show it one page at a time (see ScheduleQuery).
+ * availability finds the airplanes of a route and range of days that still have enough free seats (see AvailabilityIndex).
+ * cities is the dictionary of every origin and destination ever added, used to suggest places in the search (see CityIndex).
+ */
+class Schedule {
+    static FlightStore schedule = new FlightStore();
+    static Map<String, Airplane> nameIndex = new ConcurrentHashMap<>();
+    static RouteIndex routeIndex = new RouteIndex();
+    static CityIndex cities = new CityIndex();
+    static ScheduleQuery query = new ScheduleQuery();
+    static AvailabilityIndex availability = new AvailabilityIndex();
+    /* Here we hard-code some Airplane to the schedule from the start, as required. This is the BoeingC757, MH200 and A350 flights. Each of them
+     * lands after it takes off, the ConnectionSearch leaves out an airplane that would land before. We
+     * make three traveller objects and link them to the 3 airplanes. We then book tickets under each Passenger for each flight to hard-code some
+     * flights that were booked.
+     */
+    static {
+        Traveller boeingPassenger = new Traveller("Boeing Passenger");
+        Manager.addEntry("BoeingC757", "International", 6, 1000.0, "NYC", "Hong Kong", 30, 15, 11, 12, 2024, 30, 11, 10, 12, 2024);
+        Airplane BoeingC757 = Manager.findEntry("BoeingC757");
+        boeingPassenger.airplane = BoeingC757;
+        boeingPassenger.bookSeats(BoeingC757.seats[0]);
+        boeingPassenger.bookSeats(BoeingC757.seats[1]);
+        boeingPassenger.bookSeats(BoeingC757.seats[2]);
+        boeingPassenger.bookSeats(BoeingC757.seats[3]);
+        boeingPassenger.bookSeats(BoeingC757.seats[4]);
+        boeingPassenger.bookSeats(BoeingC757.seats[5]);
+        Traveller MH200Passenger = new Traveller("MH200 Passenger");
+        Manager.addEntry("MH200", "International", 20, 1500.0, "Sydney", "Delhi", 5, 21, 10, 11, 2024, 50, 11, 10, 11, 2024);
+        Airplane MH200 = Manager.findEntry("MH200");
+        MH200Passenger.airplane = MH200;
+        MH200Passenger.bookSeats(MH200.seats[0]);
+        MH200Passenger.bookSeats(MH200.seats[1]);
+        Traveller A350Passenger = new Traveller("A350 Passenger");
+        Manager.addEntry("A350", "Domestic", 15, 1000.0, "Delhi", "Bangalore", 15, 12, 7, 12, 2024, 30, 9, 7, 12, 2024);
+        Airplane A350 = Manager.findEntry("A350");
+        A350Passenger.airplane = A350;
+        A350Passenger.bookSeats(A350.seats[0]);
+        A350Passenger.bookSeats(A350.seats[1]);
+        A350Passenger.bookSeats(A350.seats[2]);
+    }
+}
@@ -0,0 +1,51 @@
+/* ScheduleQuery has the sorted orders of the schedule the GUI can page through: by departure time, by seat price and by load factor
+ * (the part of the seats that is sold, see Airplane.loadFactor). Each is a FlightOrder.
+ *
+ * Manager adds every airplane to the orders when it is added to the schedule and removes it when it is deleted or departs, like the routeIndex.
+ * The departure time is read from departsAt, the Instant that is set once when the airplane is made, and not from the departure Calendar. A Calendar
+ * can be changed and is not safe to read from several threads, while the key of an airplane in a FlightOrder must never change behind its back.
+ * The departure time of an airplane never changes, but its price and load factor change with every booking. ScheduleQuery is a FlightListener,
+ * so it hears about every booked or given back seat and every new price and sorts the airplane again in that one order, O(log n).
+ * The price is read with PricingEngine.currentPrice and not with Airplane.seatPrice. seatPrice makes a new quote when the old one has run out
+ * (DepartureTimePricing) and tells priceChanged about it, which would sort the airplane again while it is being sorted. currentPrice changes
+ * nothing, and the priceChanged of the new quote sorts the airplane again once it is made.
+ * It registers itself with FlightEvents when it is made, which is before the hard-coded airplanes are added to the Schedule.
+ */
+class ScheduleQuery implements FlightListener {
+    final FlightOrder byDeparture = new FlightOrder("Departure", airplane -> airplane.departsAt.toEpochMilli());
+    final FlightOrder byPrice = new FlightOrder("Price", airplane -> airplane.pricing.currentPrice());
+    final FlightOrder byLoadFactor = new FlightOrder("Load Factor", airplane -> airplane.loadFactor());
+
+    ScheduleQuery() {
+        FlightEvents.addListener(this);
+    }
+
+    /* orders lists the orders in the way the GUI offers them. */
+    FlightOrder[] orders() {
+        return (new FlightOrder[] { byDeparture, byPrice, byLoadFactor });
+    }
+
+    void add(Airplane airplane) {
+        byDeparture.add(airplane);
+        byPrice.add(airplane);
+        byLoadFactor.add(airplane);
+    }
+
+    void remove(Airplane airplane) {
+        byDeparture.remove(airplane);
+        byPrice.remove(airplane);
+        byLoadFactor.remove(airplane);
+    }
+
+    public void seatBooked(Airplane airplane, Seat seat) {
+        byLoadFactor.update(airplane);
+    }
+
+    public void seatReleased(Airplane airplane, Seat seat) {
+        byLoadFactor.update(airplane);
+    }
+
+    public void priceChanged(Airplane airplane, double seatPrice) {
+        byPrice.update(airplane);
+    }
+}
@@ -0,0 +1,144 @@
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+/* This ia Seat class. It represents a Seat inside an airplane.
+ * (int) position attribute represents its seat number. This will be used during booking
+ * (String) airlines_name attribute represents the name of the airplane it is present in.
+ * (String) passenger_name attribute represents the naem of the passenger that has booked the seat. By default, a seat is initialized to have a NULL passenger_name as it isn't booked.
+ *
+ * Whether a seat is booked or not is NOT stored in the Seat. It is decided by the SeatInventory of the airplane. The GUI keeps its own
+ * BooleanProperty for every seat (see FlightView in Demo.java) and updates it when it is told that the seat was booked.
+ *
+ * (Airplane) airplane is the airplane the seat is in.
+ * (Traveller) booked_by is the traveller who booked the seat, null if it is not booked. Only that traveller can cancel it.
+ * (double) seatPrice attribute represents the price of the seat. Once the seat is booked, it is the price the seat was sold at.
+ * (Calendar) booking_time attribute represents the time at which the seat was booked. By default, a seat is initialized to have a NULL booking_time as it isn't booked.
+ *
+ * This class (like the rest of the booking core) doesn't use anything from JavaFX, so bookings can be processed on a server with no display.
+ */
+class Seat {
+    int position;
+    String airlines_name;
+    String passenger_name;
+    double seatPrice;
+    Calendar booking_time;
+    Airplane airplane;
+    Traveller booked_by;
+
+    /*
+     * In this program, each booking request is processed by a thread of the BookingService that will call the book function. We don't want multiple threads (or users)
+     * to book a single seat, but we also don't want every booking to queue up behind a lock. So the book function is NOT synchronized anymore.
+     * Instead it asks the SeatInventory of the airplane to claim the seat. The claim is a single compare-and-set on the bitmap word that holds this
+     * seat, so exactly one thread can ever win it and the losers find out immediately without waiting for a monitor.
+     *
+     * When a thread wins the claim, the seat is sold through the PricingEngine of the airplane. The seatPrice of the seat is set to the price it was
+     * sold at, which is always the price quoted at that moment. We set the passenger_name of the seat to the name of the traveller who has accessed the seat.
+     * The totalCost of the traveller (an attribute to track the total expense of a traveller) is increased by the seatPrice.
+     * booking_time is also assigned the current date and time to reflect the time at which the booking was made.
+     * timeOfBooking is a String that will store the booking_time Calendar object in the format HH:MM DD/MM/YYYY
+     * We will also return a (1) after all this to show that booking was successful for a thread!
+     *
+     * Once the seat is booked, FlightEvents.seatBooked tells every FlightListener about it. The GUI is one of these listeners, it updates its
+     * mirror of the seat on the Application thread of JavaFX. The booking itself never waits for the GUI.
+     *
+     * The totalCost and seats_booked of the traveller are changed inside a synchronized (traveller) block. Two requests of the SAME traveller can
+     * now run at the same time on different pool threads and we don't want them to lose each other's update. Different travellers never share this lock.
+     *
+     * If the claim is lost (another thread already owns the seat), it returns (0) to show that booking was unsuccessful for a thread.
+     */
+    int book(Traveller traveller) {
+        Airplane airplane = traveller.airplane;
+        if (airplane.inventory.claim(position)) {
+            seatPrice = airplane.pricing.sell(1).price;
+            synchronized (traveller) {
+                traveller.totalCost = traveller.totalCost + seatPrice;
+            }
+            assignTo(airplane, traveller);
+            return(1);
+        } else {
+            return(0);
+        }
+    }
+
+    /* assignTo fills in the details of a seat of the airplane that has ALREADY been claimed in the inventory for the traveller: the passenger_name, the booking_time
+     * and the line in the seats_booked of the traveller. It then tells the listeners that the seat was booked. It is used by book and by GroupRequest,
+     * which claims all the seats of a group at once and charges the traveller once for the whole group. The seatPrice must be set before.
+     */
+    void assignTo(Airplane airplane, Traveller traveller) {
+        synchronized (this) {
+            booked_by = traveller;
+        }
+        passenger_name = traveller.getPassengerName();
+        booking_time = new GregorianCalendar();
+        String timeOfBooking = booking_time.get(Calendar.HOUR_OF_DAY) + ":" + booking_time.get(Calendar.MINUTE)
+                + " " + booking_time.get(Calendar.DAY_OF_MONTH) + "/" + (booking_time.get(Calendar.MONTH) + 1) + "/"
+                + booking_time.get(Calendar.YEAR);
+        synchronized (traveller) {
+            traveller.seats_booked.add("SEAT " + position + " | " + "BOOKING TIME: " + timeOfBooking + " | " + "AIRLINE: " + airlines_name
+                            + " | " + "BOOKED UNDER: " + passenger_name + " | SEAT PRICE: " + seatPrice);
+            traveller.booked_seats.add(this);
+        }
+        FlightEvents.seatBooked(airplane, this);
+    }
+
+    /* cancel gives a booked seat back. Only the traveller who booked it can cancel it, so booked_by is checked and cleared inside synchronized (this).
+     * If two cancels of the same seat come at the same time, only the first one finds the traveller there and the second one returns -1.
+     * The traveller is refunded the price the seat was sold at and its line is taken out of seats_booked. The details of the seat are cleared
+     * BEFORE the seat is released in the SeatInventory, so nobody can book it while it still shows the old passenger. Releasing it is a single
+     * compareAndSet on its bitmap word, O(1). The seat also goes back down the price curve of the PricingEngine.
+     * FlightEvents.seatReleased then tells the listeners, so the GUI enables the seat again and the Waitlist can give it to the next traveller.
+     * A seat of an airplane that has departed can't be cancelled anymore: the flight was taken, so nothing is refunded, the seat stays with the
+     * traveller and no listener hears about it. That is checked before anything is changed.
+     * It returns the amount refunded, -1 if the seat was not booked by this traveller, or -2 if the airplane has departed.
+     */
+    double cancel(Traveller traveller) {
+        synchronized (this) {
+            if (booked_by != traveller) {
+                return (-1);
+            }
+            if (airplane.departed) {
+                return (-2);
+            }
+            booked_by = null;
+        }
+        double refund = seatPrice;
+        synchronized (traveller) {
+            int index = traveller.booked_seats.indexOf(this);
+            if (index != -1) {
+                traveller.booked_seats.remove(index);
+                traveller.seats_booked.remove(index);
+            }
+            traveller.totalCost = traveller.totalCost - refund;
+        }
+        passenger_name = "";
+        booking_time = null;
+        airplane.inventory.release(position);
+        airplane.pricing.returned(1);
+        FlightEvents.seatReleased(airplane, this);
+        return (refund);
+    }
+
+    /* These are setter functions that help settings the seat number and airlines_name of the seat. This will be helpful when we're initializing the seats of an Airplane */
+    void updateSeatNo(int position) {
+        this.position = position;
+    }
+
+    void updateAirlinesName(String airlines_name) {
+        this.airlines_name = airlines_name;
+    }
+
+    void updateAirplane(Airplane airplane) {
+        this.airplane = airplane;
+    }
+
+    /* This is a Seat constructor that will help construct a Seat object. It takes a seatPrice parameter. The seatPrice of the seat is then set.
+     * The passenger_name of the seat is made empty as the seat is not booked. The booking_time is also made 'null' as the seat is not booked.
+     */
+
+    Seat(double seatPrice) {
+        this.seatPrice = seatPrice;
+        this.passenger_name = "";
+        this.booking_time = null;
+        this.booked_by = null;
+    }
+}
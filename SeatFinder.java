@@ -0,0 +1,94 @@
+/* SeatFinder picks seats for the traveller, instead of the traveller clicking a seat. It is what automated check-in and agents booking many seats use.
+ * - nextFree finds the best available seat: the first free seat from the front of the airplane (or of a cabin).
+ * - findBlock finds the first block of 'count' free seats next to each other in the same segment of a row (see SeatLayout), so a group is
+ *   never split by an aisle or the end of a row.
+ *
+ * Both only look at the bitmap of the SeatInventory. nextFree and findFreeRun of the inventory skip 64 seats at a time, so on a 500 seat airplane
+ * a search looks at about 8 words. If a run that findFreeRun returns crosses the end of its segment, no later start in that segment can fit
+ * either, so the search simply carries on from the start of the next segment.
+ *
+ * A group bigger than the longest segment of the layout can never be seated within one segment. For such a group any run of free seats is used.
+ *
+ * Finding a seat doesn't claim it. claimNext and claimBlock find AND claim, and look again if another thread took the seats in between.
+ */
+class SeatFinder {
+    static int nextFree(Airplane airplane, String cabin) {
+        SeatLayout layout = airplane.layout;
+        int position = airplane.inventory.nextFree(layout.cabinStart(cabin));
+        if (position == -1 || position >= layout.cabinEnd(cabin)) {
+            return (-1);
+        }
+        return (position);
+    }
+
+    static int findBlock(Airplane airplane, int count, String cabin) {
+        SeatLayout layout = airplane.layout;
+        SeatInventory inventory = airplane.inventory;
+        int end = layout.cabinEnd(cabin);
+        boolean anyRun = count > layout.longestSegment();
+        int start = inventory.findFreeRun(count, layout.cabinStart(cabin));
+        while (start != -1 && start + count <= end) {
+            if (anyRun) {
+                return (start);
+            }
+            int segmentEnd = layout.segmentEnd(start);
+            if (start + count <= segmentEnd) {
+                return (start);
+            }
+            start = inventory.findFreeRun(count, segmentEnd);
+        }
+        return (-1);
+    }
+
+    /* claimNext claims the best available seat and returns it, or -1 if the airplane (or the cabin) is full. */
+    static int claimNext(Airplane airplane, String cabin) {
+        int position = nextFree(airplane, cabin);
+        while (position != -1) {
+            if (airplane.inventory.claim(position)) {
+                return (position);
+            }
+            position = nextFree(airplane, cabin);
+        }
+        return (-1);
+    }
+
+    /* claimBlock claims a block of 'count' seats together and returns their positions, or null if there is no such block. */
+    static int[] claimBlock(Airplane airplane, int count, String cabin) {
+        if (count <= 0) {
+            return (null);
+        }
+        int start = findBlock(airplane, count, cabin);
+        while (start != -1) {
+            int[] block = block(start, count);
+            if (airplane.inventory.claimAll(block)) {
+                return (block);
+            }
+            start = findBlock(airplane, count, cabin);
+        }
+        return (null);
+    }
+
+    /* holdBlock is claimBlock for a SeatHold: the block is held instead of booked. */
+    static int[] holdBlock(Airplane airplane, int count, String cabin) {
+        if (count <= 0) {
+            return (null);
+        }
+        int start = findBlock(airplane, count, cabin);
+        while (start != -1) {
+            int[] block = block(start, count);
+            if (airplane.inventory.holdAll(block)) {
+                return (block);
+            }
+            start = findBlock(airplane, count, cabin);
+        }
+        return (null);
+    }
+
+    private static int[] block(int start, int count) {
+        int[] block = new int[count];
+        for (int i = 0; i < count; i++) {
+            block[i] = start + i;
+        }
+        return (block);
+    }
+}
@@ -0,0 +1,52 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* SeatHold is a temporary hold of a traveller on one or more seats of an airplane. While the traveller is buying add-ons in the addonScene, the seats
+ * are taken in the SeatInventory so nobody else can book them, but they are not sold yet. The hold ends in exactly one of three ways:
+ * - CONFIRMED: the traveller pressed Purchase before the hold ran out. The seats are now booked.
+ * - RELEASED: the traveller gave the seats back (for example by pressing Back).
+ * - EXPIRED: the hold ran out. The HoldTimer gives the seats back to the inventory.
+ *
+ * (Airplane) airplane and (Traveller) traveller are the airplane and the traveller of the hold. (int[]) positions are the seat numbers.
+ * (double) seatPrice is the price of ONE seat, the PricingEngine quote the seats were held at. The traveller pays this price on confirm even if the
+ * airplane got more expensive in the meantime.
+ * (long) deadline is the System.nanoTime() at which the hold runs out.
+ *
+ * state decides who wins when the traveller confirms at the same moment that the timer expires the hold. Both try compareAndSet(ACTIVE, ...)
+ * and only one of them can succeed.
+ *
+ * rounds and next are only used by the HoldTimer thread. next links the holds of one bucket of the timer wheel together, so putting a hold in the
+ * wheel doesn't create any extra object.
+ */
+class SeatHold {
+    static final int ACTIVE = 0;
+    static final int CONFIRMED = 1;
+    static final int RELEASED = 2;
+    static final int EXPIRED = 3;
+
+    final Airplane airplane;
+    final Traveller traveller;
+    final int[] positions;
+    final double seatPrice;
+    final long deadline;
+    final AtomicInteger state = new AtomicInteger(ACTIVE);
+
+    long rounds;
+    SeatHold next;
+
+    SeatHold(Airplane airplane, Traveller traveller, int[] positions, double seatPrice, long deadline) {
+        this.airplane = airplane;
+        this.traveller = traveller;
+        this.positions = positions;
+        this.seatPrice = seatPrice;
+        this.deadline = deadline;
+    }
+
+    boolean isActive() {
+        return (state.get() == ACTIVE);
+    }
+
+    /* total is what the traveller will pay for the whole hold. */
+    double total() {
+        return (seatPrice * positions.length);
+    }
+}
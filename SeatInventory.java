@@ -0,0 +1,362 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/* SeatInventory is the single source of truth for which seats of an Airplane are taken. Every Airplane has exactly one.
+ * Instead of keeping a lock (or a BooleanProperty) per seat, we keep one bit per seat packed into long words. Seat 0 is bit 0 of word 0, seat 63 is
+ * bit 63 of word 0, seat 64 is bit 0 of word 1 and so on. A bit set to 1 means the seat is taken.
+ *
+ * The words are stored in an AtomicLongArray so that we can use compareAndSet (CAS) on them. To claim a seat, a thread reads the word, checks that
+ * the bit is still 0 and then tries to swap in the word with the bit set. If another thread changed the word in the meantime, the CAS fails and we
+ * simply read the word again and retry. No thread ever waits on a monitor, so claims on different seats (and even on the same word) scale with the
+ * number of cores.
+ *
+ * A seat can also be HELD for a while (for example while the traveller is buying add-ons) instead of being sold straight away. A held seat is taken
+ * in 'words' like a sold seat, so nobody else can claim it, and it ALSO has its bit set in 'held'. When the hold is confirmed, only the 'held' bit
+ * is cleared and the seat stays taken. When the hold expires or is released, both bits are cleared and the seat is free again.
+ * So a seat is free when its bit in 'words' is 0, held when both bits are 1 and booked (sold) when only its bit in 'words' is 1.
+ *
+ * The two bits can't be changed in one step, so the 'held' bit is always around the 'words' bit: holdAll sets the 'held' bits BEFORE it claims the
+ * seats in 'words', and releaseHeld clears the 'words' bits BEFORE the 'held' bits. In between, a seat has only its 'held' bit, which counts as free
+ * (isHeld is only true for a seat that is also taken). So a held seat is never seen as booked, neither on its way in nor on its way out.
+ * holdAll takes the 'held' bits only if no other hold has them, so a hold that fails never clears the 'held' bits of another hold.
+ * If a plain claim takes a seat while a hold is on its way in, the hold fails and clears its 'held' bit again. Until then, for that moment,
+ * the seat that was just sold looks held instead of booked.
+ *
+ * The bits say WHICH seats are taken. HOW MANY seats are taken and held is kept in 'counts' so that nobody has to count the bits. Every method that
+ * changes bits adds the change to 'counts' after it. Both numbers are packed into ONE AtomicLong (taken in the high 32 bits, held in the low 32 bits),
+ * so one read always gives a taken and a held number that go together: a hold adds to both in the same step and is never seen as booked
+ * on its way in. countBooked, countHeld, countTaken and countFree are O(1) and are the numbers everyone (the engine and the GUI) uses.
+ */
+class SeatInventory {
+    private final AtomicLongArray words;
+    private final AtomicLongArray held;
+    private final AtomicLong counts = new AtomicLong();
+    private final int capacity;
+    private static final long TAKEN = 1L << 32;
+
+    SeatInventory(int capacity) {
+        this.capacity = capacity;
+        this.words = new AtomicLongArray((capacity + 63) >>> 6);
+        this.held = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    /* claim tries to take the seat at the given position. It returns true if THIS call took the seat and false if the seat was already taken. */
+    boolean claim(int position) {
+        checkPosition(position);
+        int index = position >>> 6;
+        long mask = 1L << position;
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) {
+                return (false);
+            }
+            if (words.compareAndSet(index, current, current | mask)) {
+                counts.addAndGet(TAKEN);
+                return (true);
+            }
+        }
+    }
+
+    /* release gives a seat back to the inventory. It returns true if the seat was taken before the call and false if it was already free. */
+    boolean release(int position) {
+        checkPosition(position);
+        int index = position >>> 6;
+        long mask = 1L << position;
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) == 0) {
+                return (false);
+            }
+            if (words.compareAndSet(index, current, current & ~mask)) {
+                counts.addAndGet(-TAKEN);
+                return (true);
+            }
+        }
+    }
+
+    /* claimAll claims ALL the given seats or NONE of them. Seats that share a word are claimed together with a single compareAndSet, so a group
+     * that fits in one word (up to 64 neighbouring seats) is claimed in one atomic step. For a group spread over several words we go through the
+     * words in increasing order. If a word has a seat that is already taken, we give back the seats we claimed in the earlier words and return false.
+     * Going through the words in the same order every time means two groups can never keep undoing each other forever.
+     */
+    boolean claimAll(int[] positions) {
+        if (!claimBits(positions)) {
+            return (false);
+        }
+        counts.addAndGet(TAKEN * positions.length);
+        return (true);
+    }
+
+    /* claimBits is claimAll without counting. */
+    private boolean claimBits(int[] positions) {
+        return (claimMasks(words, masksOf(positions)));
+    }
+
+    /* masksOf turns the positions into one mask per word. It checks every position and that no seat is asked for twice. */
+    private long[] masksOf(int[] positions) {
+        long[] masks = new long[words.length()];
+        for (int i = 0; i < positions.length; i++) {
+            checkPosition(positions[i]);
+            long mask = 1L << positions[i];
+            if ((masks[positions[i] >>> 6] & mask) != 0) {
+                throw new IllegalArgumentException("Seat " + positions[i] + " is asked for twice.");
+            }
+            masks[positions[i] >>> 6] |= mask;
+        }
+        return (masks);
+    }
+
+    /* claimMasks sets all the bits of the masks in the array, or none of them if one of them is already set. */
+    private static boolean claimMasks(AtomicLongArray array, long[] masks) {
+        for (int index = 0; index < masks.length; index++) {
+            if (masks[index] != 0 && !claimMask(array, index, masks[index])) {
+                clearMasks(array, masks, index);
+                return (false);
+            }
+        }
+        return (true);
+    }
+
+    /* clearMasks clears the bits of the masks of the words before 'till', to undo a claimMasks that failed on word 'till' (or on none, till = length). */
+    private static void clearMasks(AtomicLongArray array, long[] masks, int till) {
+        for (int index = 0; index < till; index++) {
+            if (masks[index] != 0) {
+                clearBits(array, index, masks[index]);
+            }
+        }
+    }
+
+    /* claimRun claims the first run of 'count' free seats next to each other and returns the position of the first seat of the run.
+     * If another thread takes one of the seats between finding the run and claiming it, we simply look for the next run.
+     * It returns -1 if there is no run of 'count' free seats left.
+     */
+    int claimRun(int count) {
+        int start = findFreeRun(count, 0);
+        while (start != -1) {
+            int[] run = new int[count];
+            for (int i = 0; i < count; i++) {
+                run[i] = start + i;
+            }
+            if (claimAll(run)) {
+                return (start);
+            }
+            start = findFreeRun(count, 0);
+        }
+        return (-1);
+    }
+
+    /* claimAny claims 'count' free seats wherever they are (not necessarily next to each other) and returns their positions, or null if fewer
+     * than 'count' seats are free. Like claimRun, it looks again if another thread takes one of the seats first.
+     */
+    int[] claimAny(int count) {
+        while (true) {
+            int[] found = new int[count];
+            int position = -1;
+            for (int i = 0; i < count; i++) {
+                position = nextFree(position + 1);
+                if (position == -1) {
+                    return (null);
+                }
+                found[i] = position;
+            }
+            if (claimAll(found)) {
+                return (found);
+            }
+        }
+    }
+
+    /* releaseAll gives back seats that were claimed together, for example when a later step of a booking fails and the whole booking is undone. */
+    void releaseAll(int[] positions) {
+        int released = 0;
+        for (int i = 0; i < positions.length; i++) {
+            checkPosition(positions[i]);
+            released = released + releaseMask(positions[i] >>> 6, 1L << positions[i]);
+        }
+        counts.addAndGet(-TAKEN * released);
+    }
+
+    /* findFreeRun returns the position of the first seat (at or after 'from') of a run of 'count' free seats next to each other, or -1.
+     * It jumps from one free seat to the next taken seat using nextFree and nextBooked, so it looks at whole words instead of single seats.
+     */
+    int findFreeRun(int count, int from) {
+        if (count <= 0 || count > capacity) {
+            return (-1);
+        }
+        int start = nextFree(from);
+        while (start != -1 && start + count <= capacity) {
+            int end = nextBooked(start);
+            if (end == -1) {
+                end = capacity;
+            }
+            if (end - start >= count) {
+                return (start);
+            }
+            start = nextFree(end);
+        }
+        return (-1);
+    }
+
+    /* nextFree returns the first free seat at or after 'from', or -1. ~word has a 1 for every free seat, Long.numberOfTrailingZeros finds the first one. */
+    int nextFree(int from) {
+        if (from >= capacity) {
+            return (-1);
+        }
+        int index = from >>> 6;
+        long free = ~words.get(index) & (-1L << from);
+        while (true) {
+            if (free != 0) {
+                int position = (index << 6) + Long.numberOfTrailingZeros(free);
+                return (position < capacity ? position : -1);
+            }
+            index++;
+            if (index == words.length()) {
+                return (-1);
+            }
+            free = ~words.get(index);
+        }
+    }
+
+    /* nextBooked returns the first taken seat at or after 'from', or -1. */
+    int nextBooked(int from) {
+        if (from >= capacity) {
+            return (-1);
+        }
+        int index = from >>> 6;
+        long taken = words.get(index) & (-1L << from);
+        while (true) {
+            if (taken != 0) {
+                return ((index << 6) + Long.numberOfTrailingZeros(taken));
+            }
+            index++;
+            if (index == words.length()) {
+                return (-1);
+            }
+            taken = words.get(index);
+        }
+    }
+
+    private static boolean claimMask(AtomicLongArray array, int index, long mask) {
+        while (true) {
+            long current = array.get(index);
+            if ((current & mask) != 0) {
+                return (false);
+            }
+            if (array.compareAndSet(index, current, current | mask)) {
+                return (true);
+            }
+        }
+    }
+
+    private int releaseMask(int index, long mask) {
+        return (clearBits(words, index, mask));
+    }
+
+    /* clearBits returns how many of the bits were set before, so the counts only go down by the seats that really changed. */
+    private static int clearBits(AtomicLongArray array, int index, long mask) {
+        while (true) {
+            long current = array.get(index);
+            if (array.compareAndSet(index, current, current & ~mask)) {
+                return (Long.bitCount(current & mask));
+            }
+        }
+    }
+
+    /* holdAll claims the seats (all of them or none, like claimAll) and marks them as held. The 'held' bits are taken first, then the seats.
+     * If the seats can't be claimed, the 'held' bits (which are ours, no other hold could take them) are cleared again.
+     * Another hold on the same seats that is on its way in or out has the 'held' bits, so this hold fails like on a taken seat.
+     */
+    boolean holdAll(int[] positions) {
+        long[] masks = masksOf(positions);
+        if (!claimMasks(held, masks)) {
+            return (false);
+        }
+        if (!claimMasks(words, masks)) {
+            clearMasks(held, masks, masks.length);
+            return (false);
+        }
+        counts.addAndGet((TAKEN + 1) * positions.length);
+        return (true);
+    }
+
+    /* confirmHeld turns held seats into booked seats. The seats stay taken, only their 'held' bits are cleared. */
+    void confirmHeld(int[] positions) {
+        int confirmed = 0;
+        for (int i = 0; i < positions.length; i++) {
+            confirmed = confirmed + clearBits(held, positions[i] >>> 6, 1L << positions[i]);
+        }
+        counts.addAndGet(-confirmed);
+    }
+
+    /* releaseHeld gives held seats back to the inventory. The 'words' bit is cleared first and the 'held' bit after it, so that the seat is never
+     * seen as booked (taken and not held) on its way out.
+     */
+    void releaseHeld(int[] positions) {
+        int unheld = 0;
+        int released = 0;
+        for (int i = 0; i < positions.length; i++) {
+            released = released + clearBits(words, positions[i] >>> 6, 1L << positions[i]);
+            unheld = unheld + clearBits(held, positions[i] >>> 6, 1L << positions[i]);
+        }
+        counts.addAndGet(-TAKEN * released - unheld);
+    }
+
+    /* isTaken is true for booked AND held seats, isHeld only for held seats and isBooked only for booked (sold) seats.
+     * isBooked reads the 'words' bit, then the 'held' bit, then the 'words' bit again. A hold sets 'held' before 'words', so if the seat was taken
+     * by a hold at the first read, its 'held' bit is already there at the second. A hold clears 'words' before 'held', so if the 'held' bit was
+     * already gone at the second read, the third read sees the seat free. Either way a held seat never counts as booked.
+     */
+    boolean isTaken(int position) {
+        checkPosition(position);
+        return ((words.get(position >>> 6) & (1L << position)) != 0);
+    }
+
+    boolean isHeld(int position) {
+        checkPosition(position);
+        return (heldBit(position) && isTaken(position));
+    }
+
+    boolean isBooked(int position) {
+        return (isTaken(position) && !heldBit(position) && isTaken(position));
+    }
+
+    private boolean heldBit(int position) {
+        return ((held.get(position >>> 6) & (1L << position)) != 0);
+    }
+
+    /* countBooked is the number of booked (taken but not held) seats. It reads 'counts' once, so taken and held come from the same moment. */
+    int countBooked() {
+        long current = counts.get();
+        return (taken(current) - held(current));
+    }
+
+    int countHeld() {
+        return (held(counts.get()));
+    }
+
+    /* countTaken is the number of seats nobody else can book right now (booked + held). countFree is the number of seats anyone can still book. */
+    int countTaken() {
+        return (taken(counts.get()));
+    }
+
+    int countFree() {
+        return (capacity - taken(counts.get()));
+    }
+
+    private static int taken(long counts) {
+        return ((int) (counts >>> 32));
+    }
+
+    private static int held(long counts) {
+        return ((int) counts);
+    }
+
+    int capacity() {
+        return (capacity);
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= capacity) {
+            throw new IndexOutOfBoundsException("Seat " + position + " does not exist. Capacity is " + capacity);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/* SeatLayout describes how the seats of an airplane are laid out in the cabin. Seat numbers go row by row: seats 0 to (seatsPerRow - 1) are the
+ * first row, the next seatsPerRow seats are the second row, and so on.
+ * (int[]) aisles has the columns after which there is an aisle. For example {2} on a 6 seat row is a 3-3 layout, {1, 5} on an 8 seat row is 2-4-2.
+ * A block of seats "together" never crosses an aisle or the end of a row. A part of a row between two aisles is called a segment.
+ * (String[]) cabins has the names of the cabins from the front (for example "Business", "Economy") and (int[]) cabinRows has the first row of each.
+ *
+ * Everything the SeatFinder asks for (the row, the end of a segment, where a cabin starts and ends) is worked out with a division or an array
+ * lookup, O(1). The end of the segment of every column is worked out once in the constructor.
+ */
+class SeatLayout {
+    final int capacity;
+    final int seatsPerRow;
+    final int[] aisles;
+    final String[] cabins;
+    final int[] cabinRows;
+    private final int[] segmentEnd;
+
+    SeatLayout(int capacity, int seatsPerRow, int[] aisles, String[] cabins, int[] cabinRows) {
+        if (seatsPerRow <= 0 || cabins.length == 0 || cabins.length != cabinRows.length || cabinRows[0] != 0) {
+            throw new IllegalArgumentException("A layout needs seats in every row and a first cabin that starts at row 0.");
+        }
+        this.capacity = capacity;
+        this.seatsPerRow = seatsPerRow;
+        this.aisles = aisles.clone();
+        this.cabins = cabins.clone();
+        this.cabinRows = cabinRows.clone();
+        segmentEnd = new int[seatsPerRow];
+        int end = seatsPerRow;
+        for (int column = seatsPerRow - 1; column >= 0; column--) {
+            for (int i = 0; i < aisles.length; i++) {
+                if (aisles[i] == column) {
+                    end = column + 1;
+                }
+            }
+            segmentEnd[column] = end;
+        }
+    }
+
+    /* single is the layout every airplane gets if nothing else is set: rows of 5 (like the seat map of the GUI), no aisle, one cabin. */
+    static SeatLayout single(int capacity) {
+        return (new SeatLayout(capacity, 5, new int[0], new String[] { "Economy" }, new int[] { 0 }));
+    }
+
+    int rowOf(int position) {
+        return (position / seatsPerRow);
+    }
+
+    /* label is the name printed on a boarding pass, like 12C (row 12, third seat of the row). */
+    String label(int position) {
+        return ((rowOf(position) + 1) + "" + (char) ('A' + position % seatsPerRow));
+    }
+
+    /* segmentEnd returns the seat just after the segment 'position' is in (the seat after the next aisle, or the start of the next row). */
+    int segmentEnd(int position) {
+        int rowStart = position - position % seatsPerRow;
+        return (Math.min(capacity, rowStart + segmentEnd[position % seatsPerRow]));
+    }
+
+    /* longestSegment is the most seats that can ever be together in this layout. */
+    int longestSegment() {
+        int longest = 0;
+        int start = 0;
+        for (int column = 0; column < seatsPerRow; column = segmentEnd[column]) {
+            longest = Math.max(longest, segmentEnd[column] - start);
+            start = segmentEnd[column];
+        }
+        return (longest);
+    }
+
+    /* cabinStart and cabinEnd return the first seat of the cabin and the seat just after its last one. A null cabin means the whole airplane. */
+    int cabinStart(String cabin) {
+        if (cabin == null) {
+            return (0);
+        }
+        return (Math.min(capacity, cabinRows[cabinIndex(cabin)] * seatsPerRow));
+    }
+
+    int cabinEnd(String cabin) {
+        if (cabin == null) {
+            return (capacity);
+        }
+        int index = cabinIndex(cabin);
+        if (index == cabins.length - 1) {
+            return (capacity);
+        }
+        return (Math.min(capacity, cabinRows[index + 1] * seatsPerRow));
+    }
+
+    private int cabinIndex(String cabin) {
+        for (int i = 0; i < cabins.length; i++) {
+            if (cabins[i].equalsIgnoreCase(cabin)) {
+                return (i);
+            }
+        }
+        throw new IllegalArgumentException("There is no " + cabin + " cabin.");
+    }
+}
@@ -0,0 +1,41 @@
+import java.util.ArrayList;
+
+/* Here, a generic class Stack is made of any type T. This is like a normal Stack where we can push, pop and display elements
+ * The class Stack has an ArrayList in it which is also a generic class of the type T. Why did we use an ArrayList instead of Array?
+ * ArrayList is dynamic, you can continuously add elements to the end of the ArrayList when required. You do not have to
+ * statically allocate memory before adding new elements, unlike an Array.
+ */
+class Stack<T> {
+    ArrayList<T> arr; 
+    int top;
+    Stack() {
+        arr = new ArrayList<>();
+        top = -1;
+    }
+    /*
+     * .add(data) of an ArrayList adds data to the end of the ArrayList. Increment the top variable by 1 when this is done.
+     */
+    void push(T data) {
+        arr.add(data);
+        top = top + 1;
+    }
+    /* .get(index) returns the element at an index in ArrayList. We will use the top variable to retrieve the last element of the Array.
+     * Once we get it, we decrement the top by 1.
+     */
+    T pop() {
+        if (!arr.isEmpty()) {
+            T popped = arr.get(top);
+            top = top - 1;
+            return (popped);
+        } else {
+            throw new RuntimeException("Stack is Empty");
+        }
+    }
+    /* We iterate through thw ArrayList from index 0 to index top. We will print every element of the Stack.
+     */
+    void display() {
+        for (int i = 0; i <= top; i++) {
+            System.out.println(arr.get(i));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/* We have a class Traveller. In this program, every traveller is represented by an object. This traveller extends Schedule as we want the traveller
+ * to have access to the schedule of Airplanes that are yet to depart so that the traveller can book tickets.
+ * It consists of a List of strings, seats_booked. It will contain information of every seat the traveller has booked and the cost of each seat.
+ * booked_seats has the Seat of every line in seats_booked, at the same index. It is used to cancel a seat that is picked from the invoice.
+ * It consists of a List of strings, addons_booked. It will contain information of every addon the traveller has purchased and the cost of each addon.
+ * The invoice section copies these lists into ObservableLists to display them in a ListView.
+ * 
+ * It also contains a private attribute passenger_name representing the name of the passenger. We have made it private so that no other class has access to it.
+ * No other class can modify this passenger_name.
+ * 
+ * We have an Airplane object associated to the traveller. Everytime a traveller tries booking an airplane, the airplane object of this traveller is linked to the airplane the traveller 
+ * wants to book.
+ * By default, the Airplane reference of the traveller is set to null as the traveller hasn't booked any ticket.
+ * 
+ * We have a totalCost double variable that will reflect the total amount spent by the traveller on seats + addons.
+ *
+ * holds contains the SeatHolds of the traveller that are still active, the seats held during checkout that are not paid for yet.
+ * They are added to totalCost only when they are confirmed.
+ */
+
+class Traveller extends Schedule {
+    List<String> seats_booked;
+    List<Seat> booked_seats;
+    List<String> addons_booked;
+    private String passenger_name;
+    Airplane airplane;
+    double totalCost;
+    List<SeatHold> holds;
+
+    /* We make a function getPassengerName that returns the name of the passenger. This is so other classes can get the name of the passenger.
+     * Other classes can get the passenger_name but cannot modify it!
+     */
+    String getPassengerName() {
+        return (passenger_name);
+    }
+
+    /* We make a constructor Traveller and pass the name of the passenger to it. We then link the passenger_name to this name. We initially
+     * set the airplane to null as the traveller has not booked any tickets. seats_booked and addons_booked is set to empty lists as the traveller
+     * has not booked any seats or addons respectively. The totalCost is set to 0 as the traveller has not booked anything.
+     */
+
+    Traveller(String passenger_name) {
+        this.passenger_name = passenger_name;
+        this.airplane = null;
+        this.seats_booked = new ArrayList<>();
+        this.booked_seats = new ArrayList<>();
+        this.addons_booked = new ArrayList<>();
+        this.holds = new ArrayList<>();
+        this.totalCost = 0;
+    }
+
+    /* We also have a bookSeats function which takes any seat object as parameter. Everytime a seat booking request is made by a traveller, 
+     * a Request is handed to the BookingService which processes it on one of its pooled threads. 
+     */
+
+     /* bookSeatsAsync returns the CompletableFuture straight away. This is what the JavaFX handlers use, the Application thread never waits for it.
+      * bookSeats is the blocking version. It WAITS for the booking to finish by calling .join() on the future and then returns 1 if the seat was
+      * successfully booked and 0 if it was not. It is used where waiting is fine, like the hard-coded bookings in Schedule and the console of the
+      * concurrentTraveller.
+      */
+    CompletableFuture<BookingResult> bookSeatsAsync(Seat seatObj) {
+        return (BookingService.book(this, seatObj));
+    }
+
+    /* With a request id, asking again with the same id returns the result of the first request instead of booking again (see RequestCache). */
+    CompletableFuture<BookingResult> bookSeatsAsync(Seat seatObj, String requestId) {
+        return (BookingService.book(this, seatObj, requestId));
+    }
+
+    /* bookGroupAsync books exactly the seats at the given positions of the airplane, all of them or none of them.
+     * bookTogetherAsync books any 'count' free seats next to each other. Both are processed as a single GroupRequest.
+     */
+    CompletableFuture<BookingResult> bookGroupAsync(int[] positions) {
+        return (BookingService.bookGroup(this, positions));
+    }
+
+    CompletableFuture<BookingResult> bookTogetherAsync(int count) {
+        return (BookingService.bookTogether(this, count));
+    }
+
+    /* bookItineraryAsync books a journey of several airplanes, every leg or none (see ItineraryRequest). The airplane of the traveller is not
+     * changed, the legs are passed in instead.
+     */
+    CompletableFuture<BookingResult> bookItineraryAsync(Airplane[] legs, int[][] positions) {
+        return (BookingService.bookItinerary(this, legs, positions));
+    }
+
+    CompletableFuture<BookingResult> bookItineraryAsync(Airplane[] legs, int count) {
+        return (BookingService.bookItinerary(this, legs, count));
+    }
+
+    /* joinWaitlist puts the traveller on the waitlist of a full airplane for 'count' seats. The promoted future of the entry completes when the seats
+     * are booked. tier is the priority of the traveller, it only matters if the waitlist of the airplane is tier-aware.
+     */
+    WaitlistEntry joinWaitlist(Airplane airplane, int count, int tier) {
+        return (airplane.waitlist.join(this, count, tier));
+    }
+
+    /* cancelSeatAsync cancels a seat the traveller has booked and refunds it (see Seat.cancel). */
+    CompletableFuture<BookingResult> cancelSeatAsync(Seat seatObj) {
+        return (BookingService.cancel(this, seatObj));
+    }
+
+    int bookSeats(Seat seatObj) {
+        BookingResult result = bookSeatsAsync(seatObj).join();
+        if (result.success) {
+            return(1);
+        } else {
+            return(0);
+        }
+    }
+
+    /* holdSeats and holdTogether hold seats for the checkout instead of booking them, for HoldManager.CHECKOUT_TTL_MILLIS. They return null if
+     * the seats could not be held. confirmHolds books every held seat and returns how many holds had already expired. releaseHolds gives them all back.
+     */
+    SeatHold holdSeats(int[] positions) {
+        return (HoldManager.hold(this, positions, HoldManager.CHECKOUT_TTL_MILLIS));
+    }
+
+    SeatHold holdTogether(int count) {
+        return (HoldManager.holdTogether(this, count, HoldManager.CHECKOUT_TTL_MILLIS));
+    }
+
+    SeatHold holdSeats(int[] positions, String requestId) {
+        return (HoldManager.hold(this, positions, HoldManager.CHECKOUT_TTL_MILLIS, requestId));
+    }
+
+    SeatHold holdTogether(int count, String requestId) {
+        return (HoldManager.holdTogether(this, count, HoldManager.CHECKOUT_TTL_MILLIS, requestId));
+    }
+
+    int confirmHolds() {
+        return (HoldManager.confirmAll(this));
+    }
+
+    void releaseHolds() {
+        HoldManager.releaseAll(this);
+    }
+
+    /* heldCost is what the traveller will pay for the seats that are held right now. */
+    synchronized double heldCost() {
+        double cost = 0;
+        for (SeatHold hold : holds) {
+            cost = cost + hold.total();
+        }
+        return (cost);
+    }
+
+    synchronized boolean hasHolds() {
+        return (!holds.isEmpty());
+    }
+}
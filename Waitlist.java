@@ -0,0 +1,142 @@
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/* Waitlist is the list of travellers waiting for seats on ONE airplane. When the airplane is full, a traveller can join it instead of being turned away.
+ * As soon as seats come back (a hold is released or expires, a booking is cancelled) the traveller at the front is promoted: the seats are booked
+ * for the traveller straight away and the promoted future of the entry completes with the BookingResult.
+ *
+ * The travellers are kept in a PriorityQueue, so joining and promoting are O(log n) and the seats are never searched one by one (the free seats are
+ * found with SeatInventory.claimAny, which looks at whole bitmap words). By default the queue is FIFO (first come, first served). With
+ * setTierAware(true), travellers of a higher tier go first and FIFO only decides between travellers of the same tier.
+ *
+ * Every airplane has a Waitlist. All of them share ONE FlightListener that is registered the first time a Waitlist is made: seatReleased promotes
+ * travellers of the airplane, and flightRemoved/flightDeparted turn everyone still waiting away.
+ */
+class Waitlist {
+    private static final Comparator<WaitlistEntry> FIFO = Comparator.comparingLong(entry -> entry.sequence);
+    private static final Comparator<WaitlistEntry> TIERED = Comparator.<WaitlistEntry>comparingInt(entry -> -entry.tier).thenComparing(FIFO);
+
+    static {
+        FlightEvents.addListener(new FlightListener() {
+            public void seatReleased(Airplane airplane, Seat seat) {
+                airplane.waitlist.promote();
+            }
+
+            public void flightRemoved(Airplane airplane) {
+                airplane.waitlist.closeAll("Flight was removed from the schedule.");
+            }
+
+            public void flightDeparted(Airplane airplane) {
+                airplane.waitlist.closeAll("Flight has departed.");
+            }
+        });
+    }
+
+    private final Airplane airplane;
+    private PriorityQueue<WaitlistEntry> queue = new PriorityQueue<>(FIFO);
+    private long joined = 0;
+    private int waiting = 0;
+
+    Waitlist(Airplane airplane) {
+        this.airplane = airplane;
+    }
+
+    /* join puts the traveller on the waitlist for 'count' seats. If the seats happen to be free already, the traveller is promoted at once.
+     * count must be at least 1 and at most the number of seats of the airplane. An entry for 0 seats would be promoted without booking anything,
+     * and an entry for more seats than the airplane has could never be promoted and would block everyone behind it, so both are refused here.
+     */
+    WaitlistEntry join(Traveller traveller, int count, int tier) {
+        if (count <= 0 || count > airplane.seats.length) {
+            throw new IllegalArgumentException("A waitlist entry must be for 1 to " + airplane.seats.length + " seats, not " + count + ".");
+        }
+        WaitlistEntry entry;
+        synchronized (this) {
+            entry = new WaitlistEntry(traveller, count, tier, joined++);
+            queue.add(entry);
+            waiting++;
+        }
+        promote();
+        return (entry);
+    }
+
+    /* leave takes the traveller off the waitlist. The entry is only marked, it is thrown away when it reaches the front of the queue. */
+    void leave(WaitlistEntry entry) {
+        synchronized (this) {
+            if (entry.left || entry.done) {
+                return;
+            }
+            entry.left = true;
+            waiting--;
+        }
+        entry.promoted.complete(new BookingResult(false, new Seat[0], 0, "Left the waitlist."));
+        promote();
+    }
+
+    /* size is the number of travellers still waiting. */
+    synchronized int size() {
+        return (waiting);
+    }
+
+    synchronized void setTierAware(boolean tierAware) {
+        PriorityQueue<WaitlistEntry> sorted = new PriorityQueue<>(Math.max(1, queue.size()), tierAware ? TIERED : FIFO);
+        sorted.addAll(queue);
+        queue = sorted;
+    }
+
+    /* promote gives free seats to the travellers at the front for as long as there are enough free seats for the next one.
+     * The seats are claimed while holding the lock of the waitlist so two threads can't promote the same entry. The booking itself is done
+     * after the lock is let go.
+     */
+    void promote() {
+        while (true) {
+            WaitlistEntry entry;
+            int[] claimed;
+            synchronized (this) {
+                entry = queue.peek();
+                while (entry != null && entry.left) {
+                    queue.poll();
+                    entry = queue.peek();
+                }
+                if (entry == null) {
+                    return;
+                }
+                claimed = airplane.inventory.claimAny(entry.count);
+                if (claimed == null) {
+                    return;
+                }
+                queue.poll();
+                entry.done = true;
+                waiting--;
+            }
+            double price = airplane.pricing.sell(claimed.length).price;
+            Seat[] seats = new Seat[claimed.length];
+            synchronized (entry.traveller) {
+                entry.traveller.totalCost = entry.traveller.totalCost + price * claimed.length;
+            }
+            for (int i = 0; i < claimed.length; i++) {
+                seats[i] = airplane.seats[claimed[i]];
+                seats[i].seatPrice = price;
+                seats[i].assignTo(airplane, entry.traveller);
+            }
+            entry.promoted.complete(new BookingResult(true, seats, price * claimed.length,
+                    claimed.length + " seats booked from the waitlist of " + airplane.name + "."));
+        }
+    }
+
+    private void closeAll(String message) {
+        PriorityQueue<WaitlistEntry> closed;
+        synchronized (this) {
+            closed = queue;
+            queue = new PriorityQueue<>(queue.comparator());
+            waiting = 0;
+            for (WaitlistEntry entry : closed) {
+                entry.done = true;
+            }
+        }
+        for (WaitlistEntry entry : closed) {
+            if (!entry.left) {
+                entry.promoted.complete(new BookingResult(false, new Seat[0], 0, message));
+            }
+        }
+    }
+}
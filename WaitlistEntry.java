@@ -0,0 +1,28 @@
+import java.util.concurrent.CompletableFuture;
+
+/* WaitlistEntry is one traveller waiting for seats on a full airplane.
+ * (int) count is the number of seats wanted. They are given all at once, never some of them.
+ * (int) tier is the priority of the traveller (for example 0 for normal, higher for frequent flyers). It only matters if the waitlist is tier-aware.
+ * (long) sequence is the order in which the travellers joined. Among travellers of the same tier, whoever joined first is promoted first.
+ * (CompletableFuture<BookingResult>) promoted completes when the seats are booked for the traveller, or with an unsuccessful result if the traveller
+ * leaves the waitlist or the airplane departs first.
+ * (boolean) left is set when the traveller leaves. The entry then stays in the queue and is thrown away when it reaches the front.
+ * (boolean) done is set when the entry is taken off the queue to be promoted or because the airplane is gone. After that the traveller can't leave.
+ * Both are only changed while holding the lock of the Waitlist.
+ */
+class WaitlistEntry {
+    final Traveller traveller;
+    final int count;
+    final int tier;
+    final long sequence;
+    final CompletableFuture<BookingResult> promoted = new CompletableFuture<>();
+    boolean left;
+    boolean done;
+
+    WaitlistEntry(Traveller traveller, int count, int tier, long sequence) {
+        this.traveller = traveller;
+        this.count = count;
+        this.tier = tier;
+        this.sequence = sequence;
+    }
+}
@@ -0,0 +1,49 @@
+import java.util.concurrent.TimeUnit;
+
+/* ClassInitOrderTest loads Manager BEFORE Schedule, which is what happens when the first thing a program does is call a Manager method.
+ * Manager extends Schedule, so loading Manager runs the static block of Schedule first, on this thread. That block books the hard-coded seats on
+ * BookingService threads and waits for them. If a FlightListener called back into Manager from one of those threads, the booking thread would
+ * wait for Manager to be loaded and Manager would wait for the booking, forever.
+ *
+ * A hang can't be caught with a try, so a watchdog thread ends the test with exit code 1 if Manager isn't loaded after TIMEOUT_SECONDS.
+ *
+ * Run it in its own JVM, the classes must not be loaded yet:
+ *     javac -d out $(ls *.java | grep -v Demo.java) test/*.java && java -cp out ClassInitOrderTest
+ */
+public class ClassInitOrderTest {
+    static final long TIMEOUT_SECONDS = 30;
+
+    public static void main(String[] args) {
+        Thread watchdog = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    TimeUnit.SECONDS.sleep(TIMEOUT_SECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                System.out.println("FAIL: Manager was not loaded after " + TIMEOUT_SECONDS + " seconds (class initialization deadlock)");
+                System.out.flush();
+                Runtime.getRuntime().halt(1);
+            }
+        }, "watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+
+        Airplane a350 = Manager.findEntry("A350");
+        watchdog.interrupt();
+
+        check(a350 != null, "the hard-coded A350 is in the schedule");
+        check(a350.countBooked() == 3, "the 3 hard-coded bookings of the A350 are made, found " + a350.countBooked());
+        check(Schedule.availability.available("Delhi", "Bangalore", java.time.LocalDate.of(2024, 12, 7), java.time.LocalDate.of(2024, 12, 7), 12)
+                .contains(a350), "the availability index saw the hard-coded bookings");
+        System.out.println("PASS ClassInitOrderTest");
+        System.exit(0);
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            System.out.println("FAIL: " + what);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+import java.util.List;
+
+/* ConnectionSearchExampleTest runs the example of the ConnectionSearch on the hard-coded schedule: Sydney to Bangalore is MH200 to Delhi and then
+ * A350 to Bangalore. The A350 leaves Delhi almost 27 days after MH200 lands there, so the search is given a maxLayover of 30 days. With the
+ * default layover of at most a day there is no such journey.
+ * It also checks that an airplane that lands before it takes off is never part of a journey.
+ */
+public class ConnectionSearchExampleTest {
+    static final long THIRTY_DAYS = 30 * 24 * 60 * 60 * 1000L;
+
+    public static void main(String[] args) {
+        for (int order : new int[] { ConnectionSearch.BY_ARRIVAL, ConnectionSearch.BY_PRICE }) {
+            List<Connection> found = ConnectionSearch.search("Sydney", "bangalore", THIRTY_DAYS, 10, order);
+            check(found.size() == 1, "one journey from Sydney to Bangalore, found " + found.size());
+            Connection journey = found.get(0);
+            check(journey.legs.length == 2 && journey.legs[0].name.equals("MH200") && journey.legs[1].name.equals("A350"),
+                    "the journey is MH200 and then A350, found " + journey);
+            check(journey.departs < journey.arrives, "the journey arrives after it departs");
+        }
+        check(ConnectionSearch.search("Sydney", "Bangalore", 10, ConnectionSearch.BY_ARRIVAL).isEmpty(),
+                "with the default layover of at most one day there is no journey");
+
+        Manager.addEntry("BackwardsX1", "Domestic", 10, 100.0, "Perth", "Darwin", 0, 8, 1, 6, 2030, 0, 10, 1, 6, 2030);
+        Manager.addEntry("ForwardX2", "Domestic", 10, 100.0, "Perth", "Darwin", 0, 14, 1, 6, 2030, 0, 11, 1, 6, 2030);
+        List<Connection> direct = ConnectionSearch.search("Perth", "Darwin", 10, ConnectionSearch.BY_ARRIVAL);
+        check(direct.size() == 1 && direct.get(0).legs[0].name.equals("ForwardX2"), "the airplane that lands before it takes off is left out, found "
+                + direct);
+        System.out.println("PASS ConnectionSearchExampleTest");
+        System.exit(0);
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            System.out.println("FAIL: " + what);
+            System.exit(1);
+        }
+    }
+}
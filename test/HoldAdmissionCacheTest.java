@@ -0,0 +1,33 @@
+/* HoldAdmissionCacheTest checks that a hold with a request id which was turned away is not remembered by the RequestCache of the HoldManager.
+ * The AdmissionControl of the airplane lets in one request per second. The first hold uses that token, so the next hold with the id "retry" is
+ * turned away and returns null. A second later the same id must be tried again and get the seats, and a repeat of it must get that same hold.
+ */
+public class HoldAdmissionCacheTest {
+    public static void main(String[] args) throws InterruptedException {
+        Airplane airplane = new Airplane("HC1", "Domestic", 10, 100, "Delhi", "Mumbai", 0, 10, 1, 6, 2030, 0, 8, 1, 6, 2030);
+        airplane.admission.configure(1, 1, 10);
+        Traveller traveller = new Traveller("Test Traveller");
+        traveller.airplane = airplane;
+
+        SeatHold first = HoldManager.hold(traveller, new int[] { 0 }, HoldManager.CHECKOUT_TTL_MILLIS);
+        check(first != null, "the first hold is let in");
+        check(HoldManager.hold(traveller, new int[] { 1 }, HoldManager.CHECKOUT_TTL_MILLIS, "retry") == null,
+                "the hold right after it is turned away by the AdmissionControl");
+
+        Thread.sleep(1100);
+        SeatHold retried = HoldManager.hold(traveller, new int[] { 1 }, HoldManager.CHECKOUT_TTL_MILLIS, "retry");
+        check(retried != null && airplane.inventory.isHeld(1), "the retry with the same id is tried again once the flight lets it in");
+        check(HoldManager.hold(traveller, new int[] { 1 }, HoldManager.CHECKOUT_TTL_MILLIS, "retry") == retried,
+                "a repeat of the id that got the seats returns the same hold");
+        check(airplane.countFree() == 8, "only seats 0 and 1 are held, free " + airplane.countFree());
+        System.out.println("PASS HoldAdmissionCacheTest");
+        System.exit(0);
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            System.out.println("FAIL: " + what);
+            System.exit(1);
+        }
+    }
+}
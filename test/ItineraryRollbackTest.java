@@ -0,0 +1,51 @@
+/* ItineraryRollbackTest checks that a journey that goes wrong on a later leg gives back the seats of the earlier legs.
+ * The second leg asks for a seat that is not on the airplane, and then for the same seat twice. Both throw while the first leg is already claimed,
+ * and after each the seats of the first leg must be free again. A journey with no seats for a leg is refused by BookingService before it starts.
+ */
+public class ItineraryRollbackTest {
+    public static void main(String[] args) {
+        Airplane first = new Airplane("IT1", "Domestic", 10, 100, "Delhi", "Mumbai", 0, 10, 1, 6, 2030, 0, 8, 1, 6, 2030);
+        Airplane second = new Airplane("IT2", "Domestic", 10, 100, "Mumbai", "Goa", 0, 14, 1, 6, 2030, 0, 12, 1, 6, 2030);
+        Traveller traveller = new Traveller("Test Traveller");
+        Airplane[] legs = { first, second };
+
+        checkThrows(new ItineraryRequest(traveller, legs, new int[][] { { 0, 1 }, { 10 } }), "a seat that is not on the second airplane");
+        check(first.countFree() == 10 && !first.inventory.isTaken(0) && !first.inventory.isTaken(1),
+                "the seats of the first leg are given back after a wrong position, free " + first.countFree());
+
+        checkThrows(new ItineraryRequest(traveller, legs, new int[][] { { 0, 1 }, { 3, 3 } }), "the same seat twice on the second airplane");
+        check(first.countFree() == 10 && !first.inventory.isTaken(0) && !first.inventory.isTaken(1),
+                "the seats of the first leg are given back after a seat asked for twice, free " + first.countFree());
+
+        BookingResult noSeats = new ItineraryRequest(traveller, legs, new int[][] { { 0, 1 }, null }).process();
+        check(!noSeats.success && first.countFree() == 10, "a leg without seats is refused before anything is claimed");
+
+        try {
+            BookingService.bookItinerary(traveller, legs, new int[][] { { 0, 1 }, null });
+            check(false, "BookingService.bookItinerary refuses a leg without seats");
+        } catch (IllegalArgumentException e) {
+            check(first.countFree() == 10 && second.countFree() == 10, "nothing was claimed for the refused journey");
+        }
+
+        BookingResult booked = new ItineraryRequest(traveller, legs, new int[][] { { 0, 1 }, { 2 } }).process();
+        check(booked.success && first.countFree() == 8 && second.countFree() == 9, "a right journey is still booked after the wrong ones");
+        System.out.println("PASS ItineraryRollbackTest");
+        System.exit(0);
+    }
+
+    private static void checkThrows(ItineraryRequest request, String what) {
+        try {
+            request.process();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return;
+        }
+        check(false, "the journey with " + what + " throws");
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            System.out.println("FAIL: " + what);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/* PriceOrderRefreshTest sorts an airplane by price while its quote has run out. With DepartureTimePricing the quote of an airplane runs out
+ * when the next window before departure starts, and the next read of Airplane.seatPrice makes a new quote and tells priceChanged about it.
+ * ScheduleQuery sorts the airplane again on priceChanged, so a sort key that made the new quote would sort the airplane inside its own sort.
+ * The airplane is first added to the price order after its quote has run out. The order must only read the price (the old one, 100), and the
+ * airplane must end up sorted at the new price once the new quote is made.
+ */
+public class PriceOrderRefreshTest {
+    public static void main(String[] args) throws InterruptedException {
+        Airplane airplane = new Airplane("PR1", "Domestic", 10, 100, "Delhi", "Mumbai", 0, 12, 2, 6, 2099, 0, 10, 2, 6, 2099);
+        long untilWindow = airplane.departsAt.toEpochMilli() - System.currentTimeMillis() - 300;
+        airplane.pricing.setStrategy(new DepartureTimePricing(new CompoundingPricing(1.1), new long[] { untilWindow }, new double[] { 2.0 }));
+        ScheduleQuery query = new ScheduleQuery();
+        query.byLoadFactor.add(airplane);
+
+        Thread.sleep(500);
+        try {
+            query.byPrice.add(airplane);
+            query.byPrice.update(airplane);
+            query.byLoadFactor.update(airplane);
+        } catch (IllegalStateException e) {
+            check(false, "sorting by price changed the price inside the sort: " + e);
+        }
+        check(query.byPrice.size() == 1 && query.byPrice.page(null, 10).airplanes.size() == 1, "the airplane is in the order once");
+
+        check(query.byPrice.page(null, 10).last.value == 100, "the order read the price of the quote that ran out");
+        double price = airplane.seatPrice();
+        check(price == 200, "the window doubled the price, found " + price);
+        check(query.byPrice.page(null, 10).last.value == 200, "the new quote sorted the airplane again at " + price);
+        System.out.println("PASS PriceOrderRefreshTest");
+        System.exit(0);
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            System.out.println("FAIL: " + what);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* SeatInventoryHoldTest checks the order of the 'held' and 'words' bits of the SeatInventory.
+ * A seat that is only ever held (never sold) must never be seen as booked, not even while a hold is on its way in or out. One thread holds and
+ * releases the same seats over and over while another thread keeps asking isBooked about them.
+ * It also checks that a hold that fails leaves the 'held' bits of another hold on the same seat alone.
+ */
+public class SeatInventoryHoldTest {
+    static final long RUN_MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        SeatInventory inventory = new SeatInventory(130);
+        check(inventory.holdAll(new int[] { 0, 1 }), "the first hold gets seats 0 and 1");
+        check(!inventory.holdAll(new int[] { 1, 2 }), "a second hold on seat 1 fails");
+        check(inventory.isHeld(1) && !inventory.isBooked(1), "seat 1 is still held by the first hold");
+        check(!inventory.isTaken(2) && !inventory.isHeld(2), "seat 2 was given back by the failed hold");
+        check(inventory.countHeld() == 2 && inventory.countBooked() == 0, "counts are 2 held and 0 booked, found " + inventory.countHeld()
+                + " held and " + inventory.countBooked() + " booked");
+        inventory.releaseHeld(new int[] { 0, 1 });
+        check(inventory.countTaken() == 0 && !inventory.isTaken(0), "the released seats are free");
+
+        int[] seats = { 5, 64, 127 };
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong holds = new AtomicLong();
+        Thread holder = new Thread(new Runnable() {
+            public void run() {
+                while (running.get()) {
+                    if (inventory.holdAll(seats)) {
+                        inventory.releaseHeld(seats);
+                        holds.incrementAndGet();
+                    }
+                }
+            }
+        }, "holder");
+        holder.start();
+        long reads = 0;
+        long end = System.currentTimeMillis() + RUN_MILLIS;
+        while (System.currentTimeMillis() < end) {
+            for (int seat : seats) {
+                if (inventory.isBooked(seat)) {
+                    running.set(false);
+                    check(false, "seat " + seat + " was seen as booked but it is only ever held");
+                }
+                reads++;
+            }
+        }
+        running.set(false);
+        holder.join();
+        check(holds.get() > 0, "the holder made some holds");
+        check(inventory.countTaken() == 0, "every hold was released, " + inventory.countTaken() + " seats are still taken");
+        System.out.println("PASS SeatInventoryHoldTest (" + holds.get() + " holds, " + reads + " reads)");
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            System.out.println("FAIL: " + what);
+            System.exit(1);
+        }
+    }
+}